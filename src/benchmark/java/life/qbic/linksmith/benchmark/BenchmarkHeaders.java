@@ -0,0 +1,53 @@
+package life.qbic.linksmith.benchmark;
+
+import java.util.StringJoiner;
+
+/**
+ * Link header values used as benchmark input.
+ */
+final class BenchmarkHeaders {
+
+  private BenchmarkHeaders() {}
+
+  /**
+   * Returns a header of the given shape.
+   *
+   * <ul>
+   *   <li>single - one link with a relation type</li>
+   *   <li>pagination - first, prev, next and last links of a paginated API</li>
+   *   <li>signposting - a long FAIR signposting header with quoted types and titles</li>
+   * </ul>
+   *
+   * @param shape the name of the header shape
+   * @return the serialised header value
+   */
+  static String of(String shape) {
+    return switch (shape) {
+      case "single" -> "<https://example.org/records/1>; rel=\"self\"";
+      case "pagination" -> pagination();
+      case "signposting" -> signposting(40);
+      default -> throw new IllegalArgumentException("Unknown header shape: " + shape);
+    };
+  }
+
+  private static String pagination() {
+    var joiner = new StringJoiner(", ");
+    for (String rel : new String[]{"first", "prev", "next", "last"}) {
+      joiner.add("<https://api.example.org/records?page=3&size=100&sort=created%2Cdesc>; rel=\""
+          + rel + "\"");
+    }
+    return joiner.toString();
+  }
+
+  private static String signposting(int links) {
+    var joiner = new StringJoiner(" , ");
+    joiner.add("<https://doi.org/10.5281/zenodo.17179862> ; rel=\"cite-as\"");
+    for (int i = 0; i < links; i++) {
+      joiner.add("<https://zenodo.org/records/17179862/files/22-09-2025_National-Biobanken-Symposium"
+          + "_FAIR-IN-Biobanking_part-" + i + ".pdf> ; rel=\"item\" ; type=\"application/pdf\""
+          + " ; title=\"Presentation slides of the national biobank symposium, part " + i + "\"");
+    }
+    joiner.add("<https://creativecommons.org/licenses/by/4.0/legalcode> ; rel=\"license\"");
+    return joiner.toString();
+  }
+}
@@ -0,0 +1,65 @@
+package life.qbic.linksmith.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import life.qbic.linksmith.internal.lexing.DfaWebLinkLexer;
+import life.qbic.linksmith.internal.lexing.SimpleWebLinkLexer;
+import life.qbic.linksmith.internal.lexing.TokenBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the scanning lexer with the table-driven lexer on typical Link header shapes.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=LexerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class LexerBenchmark {
+
+  @Param({"single", "pagination", "signposting"})
+  public String shape;
+
+  private String header;
+
+  private ByteBuffer headerBytes;
+
+  private final SimpleWebLinkLexer simpleLexer = SimpleWebLinkLexer.create();
+
+  private final DfaWebLinkLexer dfaLexer = DfaWebLinkLexer.create();
+
+  @Setup
+  public void setUp() {
+    header = BenchmarkHeaders.of(shape);
+    headerBytes = ByteBuffer.wrap(header.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @Benchmark
+  public TokenBuffer simpleLexer() {
+    return simpleLexer.tokenize(header);
+  }
+
+  @Benchmark
+  public TokenBuffer simpleLexerBytes() {
+    return simpleLexer.tokenize(headerBytes);
+  }
+
+  @Benchmark
+  public TokenBuffer dfaLexer() {
+    return dfaLexer.tokenize(header);
+  }
+}
@@ -0,0 +1,64 @@
+package life.qbic.linksmith.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import life.qbic.linksmith.internal.lexing.SimpleWebLinkLexer;
+import life.qbic.linksmith.internal.parsing.DirectWebLinkParser;
+import life.qbic.linksmith.internal.parsing.RawLinkHeader;
+import life.qbic.linksmith.internal.parsing.SimpleWebLinkParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the ways of getting from a header string to a raw link header: lexing into a token
+ * list and parsing it, streaming tokens through a cursor, and the fused single-pass parser.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ParserBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ParserBenchmark {
+
+  @Param({"single", "pagination", "signposting"})
+  public String shape;
+
+  private String header;
+
+  private final SimpleWebLinkLexer lexer = SimpleWebLinkLexer.create();
+
+  private final SimpleWebLinkParser parser = SimpleWebLinkParser.create();
+
+  private final DirectWebLinkParser directParser = DirectWebLinkParser.create();
+
+  @Setup
+  public void setUp() {
+    header = BenchmarkHeaders.of(shape);
+  }
+
+  @Benchmark
+  public RawLinkHeader tokenList() {
+    return parser.parse(lexer.lex(header));
+  }
+
+  @Benchmark
+  public RawLinkHeader cursor() {
+    return parser.parse(lexer.cursor(header));
+  }
+
+  @Benchmark
+  public RawLinkHeader direct() {
+    return directParser.parse(header);
+  }
+}
@@ -0,0 +1,136 @@
+package life.qbic.linksmith.core;
+
+import java.util.List;
+import life.qbic.linksmith.core.ProcessingLimits.LimitExceededException;
+import life.qbic.linksmith.internal.lexing.WebLinkToken;
+import life.qbic.linksmith.internal.lexing.WebLinkTokenType;
+import life.qbic.linksmith.internal.parsing.DirectWebLinkParser.TokenObserver;
+import life.qbic.linksmith.spi.WebLinkTokenCursor;
+
+/**
+ * Cursor decorator that enforces {@link ProcessingLimits} while the tokens are pulled.
+ * <p>
+ * Every token is counted when the cursor reaches it. Each ',' (COMMA) starts a new link-value and
+ * each ';' (SEMICOLON) introduces a parameter of the current link-value. Since the delegate lexes
+ * on demand, the rest of the header is not scanned anymore once a limit is exceeded.
+ * <p>
+ * The same counting is available as {@link TokenObserver} for parsers that do not use a cursor.
+ * <p>
+ * Note: the implementation of this class is NOT thread-safe.
+ */
+final class LimitingTokenCursor implements WebLinkTokenCursor, TokenObserver {
+
+  private final ProcessingLimits limits;
+
+  private WebLinkTokenCursor delegate;
+
+  private int tokens;
+  private int links;
+  private int parameters;
+
+  LimitingTokenCursor(ProcessingLimits limits) {
+    this.limits = limits;
+  }
+
+  ProcessingLimits limits() {
+    return limits;
+  }
+
+  /**
+   * Starts counting anew for the given cursor and counts its current token.
+   *
+   * @param cursor the cursor to enforce the limits on
+   * @return this cursor
+   * @throws LimitExceededException if the first token exceeds a limit
+   */
+  LimitingTokenCursor reset(WebLinkTokenCursor cursor) throws LimitExceededException {
+    start();
+    delegate = cursor;
+    count(cursor.peekType(), cursor.startOffset());
+    return this;
+  }
+
+  /**
+   * Starts counting anew without a cursor, for the use as {@link TokenObserver}.
+   *
+   * @return this cursor
+   */
+  LimitingTokenCursor start() {
+    delegate = null;
+    tokens = 0;
+    links = 1;
+    parameters = 0;
+    return this;
+  }
+
+  /**
+   * Enforces the limits on an already lexed token list.
+   *
+   * @param tokens the tokens in ascending order by position
+   * @param limits the limits to enforce
+   * @throws LimitExceededException if the tokens exceed a limit
+   */
+  static void check(List<WebLinkToken> tokens, ProcessingLimits limits)
+      throws LimitExceededException {
+    var counter = new LimitingTokenCursor(limits).start();
+    for (WebLinkToken token : tokens) {
+      counter.count(token.type(), token.position());
+    }
+  }
+
+  @Override
+  public WebLinkTokenType peekType() {
+    return delegate.peekType();
+  }
+
+  @Override
+  public WebLinkTokenType next() {
+    if (delegate.peekType() == WebLinkTokenType.EOF) {
+      return WebLinkTokenType.EOF;
+    }
+    var type = delegate.next();
+    count(type, delegate.startOffset());
+    return type;
+  }
+
+  @Override
+  public int startOffset() {
+    return delegate.startOffset();
+  }
+
+  @Override
+  public int endOffset() {
+    return delegate.endOffset();
+  }
+
+  @Override
+  public String text() {
+    return delegate.text();
+  }
+
+  @Override
+  public void onToken(WebLinkTokenType type, int position) throws LimitExceededException {
+    count(type, position);
+  }
+
+  private void count(WebLinkTokenType type, int position) {
+    if (++tokens > limits.maxTokens()) {
+      throw new LimitExceededException(
+          "Link header exceeds the maximum of %d tokens at position %d".formatted(
+              limits.maxTokens(), position));
+    }
+    if (type == WebLinkTokenType.COMMA) {
+      parameters = 0;
+      if (++links > limits.maxLinks()) {
+        throw new LimitExceededException(
+            "Link header exceeds the maximum of %d links at position %d".formatted(
+                limits.maxLinks(), position));
+      }
+    } else if (type == WebLinkTokenType.SEMICOLON
+        && ++parameters > limits.maxParametersPerLink()) {
+      throw new LimitExceededException(
+          "Link exceeds the maximum of %d parameters at position %d".formatted(
+              limits.maxParametersPerLink(), position));
+    }
+  }
+}
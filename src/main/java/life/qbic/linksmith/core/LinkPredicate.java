@@ -0,0 +1,99 @@
+package life.qbic.linksmith.core;
+
+import java.util.List;
+import java.util.Objects;
+import life.qbic.linksmith.internal.parsing.RelationTypeList;
+import life.qbic.linksmith.model.WebLinkParameter;
+
+/**
+ * Condition on a single link of a Link header, used by
+ * {@link WebLinkProcessor#findFirst(String, LinkPredicate)}.
+ * <p>
+ * A predicate is tested on the raw link, before it is validated. The target is the URI-Reference
+ * as it appears in the header, and the parameters are in header order, with quoted-string values
+ * unquoted.
+ *
+ * <pre>
+ *   {@code
+ *   Optional<WebLink> next = processor.findFirst(header, LinkPredicate.rel("next"));
+ *   }
+ * </pre>
+ */
+@FunctionalInterface
+public interface LinkPredicate {
+
+  /**
+   * Evaluates the predicate on a raw link.
+   *
+   * @param target     the raw target URI-Reference
+   * @param parameters the raw parameters of the link
+   * @return {@code true}, if the link matches, else {@code false}
+   */
+  boolean test(String target, List<WebLinkParameter> parameters);
+
+  /**
+   * Matches links that have the given relation type in one of their {@code rel} parameters.
+   * <p>
+   * Relation types are compared case-insensitively, as required by RFC 8288 section 2.1.1.
+   *
+   * @param relationType the relation type to look for, e.g. {@code "next"}
+   * @return a predicate matching links with the relation type
+   * @throws NullPointerException if the relation type is {@code null}
+   */
+  static LinkPredicate rel(String relationType) throws NullPointerException {
+    Objects.requireNonNull(relationType);
+    return (target, parameters) -> {
+      for (WebLinkParameter parameter : parameters) {
+        if (parameter.name().equalsIgnoreCase("rel") && parameter.hasValue()
+            && containsRelationType(parameter.value(), relationType)) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Matches links that have a parameter with the given name and value.
+   * <p>
+   * Parameter names are compared case-insensitively, values exactly.
+   *
+   * @param name  the name of the parameter
+   * @param value the value of the parameter, or {@code null} to match a parameter without value
+   * @return a predicate matching links with the parameter
+   * @throws NullPointerException if the name is {@code null}
+   */
+  static LinkPredicate param(String name, String value) throws NullPointerException {
+    Objects.requireNonNull(name);
+    return (target, parameters) -> {
+      for (WebLinkParameter parameter : parameters) {
+        if (parameter.name().equalsIgnoreCase(name) && Objects.equals(parameter.value(), value)) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Combines this predicate with another one, both must match.
+   *
+   * @param other the other predicate
+   * @return a predicate matching links that match this and the other predicate
+   * @throws NullPointerException if the other predicate is {@code null}
+   */
+  default LinkPredicate and(LinkPredicate other) throws NullPointerException {
+    Objects.requireNonNull(other);
+    return (target, parameters) -> test(target, parameters) && other.test(target, parameters);
+  }
+
+  /**
+   * Looks for the relation type in a whitespace separated list of relation types, without
+   * splitting the list.
+   */
+  private static boolean containsRelationType(String relationTypes, String relationType) {
+    return RelationTypeList.forEach(relationTypes, (value, start, end) ->
+        end - start == relationType.length()
+            && value.regionMatches(true, start, relationType, 0, end - start));
+  }
+}
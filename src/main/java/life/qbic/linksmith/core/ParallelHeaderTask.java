@@ -0,0 +1,140 @@
+package life.qbic.linksmith.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import life.qbic.linksmith.internal.parsing.DirectWebLinkParser;
+import life.qbic.linksmith.internal.parsing.RawLink;
+import life.qbic.linksmith.spi.WebLinkValidator;
+import life.qbic.linksmith.spi.WebLinkValidator.ValidationResult;
+
+/**
+ * Fork/join task that parses, and if possible validates, the link-values of a large Link header in
+ * parallel.
+ * <p>
+ * The header is split into link-values at its top-level ',' (COMMA) characters, see
+ * {@link #topLevelCommas(String)}. A task covers a range of consecutive link-values: ranges longer
+ * than {@link #SEGMENT_LENGTH} characters are split in halves, shorter ones are parsed as a header
+ * of their own. The parts are returned in header order.
+ * <p>
+ * Parsing a part fails like parsing the whole header would, but the reported positions are
+ * relative to the part. Callers are expected to process the header sequentially in that case.
+ */
+final class ParallelHeaderTask extends RecursiveTask<List<ParallelHeaderTask.Part>> {
+
+  /**
+   * Number of characters up to which a range of link-values is processed by a single task.
+   */
+  static final int SEGMENT_LENGTH = 8192;
+
+  /**
+   * The result of a single task.
+   *
+   * @param rawLinks the links of the part, in header order
+   * @param results  the result of every validator for the part, in validator order, or empty if
+   *                 the part was not validated
+   */
+  record Part(List<RawLink> rawLinks, List<ValidationResult> results) {
+
+  }
+
+  private final String header;
+  // positions of the top-level commas, link-value i ends before commas[i]
+  private final int[] commas;
+  private final DirectWebLinkParser parser;
+  // validators that support partial headers, or null to leave validation to the caller
+  private final List<WebLinkValidator> validators;
+
+  // range of link-values of this task, last is exclusive
+  private final int first;
+  private final int last;
+
+  ParallelHeaderTask(String header, int[] commas, DirectWebLinkParser parser,
+      List<WebLinkValidator> validators) {
+    this(header, commas, parser, validators, 0, commas.length + 1);
+  }
+
+  private ParallelHeaderTask(String header, int[] commas, DirectWebLinkParser parser,
+      List<WebLinkValidator> validators, int first, int last) {
+    this.header = header;
+    this.commas = commas;
+    this.parser = parser;
+    this.validators = validators;
+    this.first = first;
+    this.last = last;
+  }
+
+  /**
+   * Finds the ',' (COMMA) characters that separate link-values, skipping the ones inside URI
+   * references and quoted-strings.
+   *
+   * @param header the raw Link header field-value
+   * @return the positions of the top-level commas in ascending order, or {@code null} if a URI
+   * reference or quoted-string is not terminated
+   */
+  static int[] topLevelCommas(String header) {
+    var commas = new int[16];
+    int count = 0;
+    int length = header.length();
+    for (int i = 0; i < length; i++) {
+      char c = header.charAt(i);
+      if (c == ',') {
+        if (count == commas.length) {
+          commas = Arrays.copyOf(commas, count * 2);
+        }
+        commas[count++] = i;
+      } else if (c == '<') {
+        i = header.indexOf('>', i + 1);
+      } else if (c == '"') {
+        i = closingQuote(header, i);
+      }
+      if (i < 0) {
+        return null;
+      }
+    }
+    return Arrays.copyOf(commas, count);
+  }
+
+  private static int closingQuote(String header, int quotePos) {
+    for (int i = quotePos + 1; i < header.length(); i++) {
+      char c = header.charAt(i);
+      if (c == '"') {
+        return i;
+      }
+      if (c == '\\') {
+        i++;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  protected List<Part> compute() {
+    int start = first == 0 ? 0 : commas[first - 1] + 1;
+    int end = last == commas.length + 1 ? header.length() : commas[last - 1];
+    if (last - first == 1 || end - start <= SEGMENT_LENGTH) {
+      return List.of(process(header.substring(start, end)));
+    }
+    int middle = (first + last) >>> 1;
+    var left = new ParallelHeaderTask(header, commas, parser, validators, first, middle);
+    var right = new ParallelHeaderTask(header, commas, parser, validators, middle, last);
+    left.fork();
+    var rightParts = right.compute();
+    var parts = new ArrayList<>(left.join());
+    parts.addAll(rightParts);
+    return parts;
+  }
+
+  private Part process(String part) {
+    var parsedPart = parser.parse(part);
+    if (validators == null) {
+      return new Part(parsedPart.rawLinks(), List.of());
+    }
+    var results = new ArrayList<ValidationResult>(validators.size());
+    for (WebLinkValidator validator : validators) {
+      results.add(validator.validate(parsedPart));
+    }
+    return new Part(parsedPart.rawLinks(), results);
+  }
+}
@@ -0,0 +1,99 @@
+package life.qbic.linksmith.core;
+
+/**
+ * Upper bounds for the resources a {@link WebLinkProcessor} spends on a single Link header.
+ * <p>
+ * The header length is checked before lexing starts. Tokens, links and parameters are counted
+ * while the header is scanned, so processing stops at the first token that exceeds a limit,
+ * without lexing the rest of the header. In both cases a {@link LimitExceededException} is
+ * thrown.
+ *
+ * <pre>
+ *   {@code
+ *   var processor = new WebLinkProcessor.Builder()
+ *       .withLimits(ProcessingLimits.unlimited().withMaxHeaderLength(8192).withMaxLinks(64))
+ *       .build();
+ *   }
+ * </pre>
+ *
+ * @param maxHeaderLength      the maximum number of characters (or bytes) of the header value
+ * @param maxTokens            the maximum number of tokens, including the EOF token
+ * @param maxLinks             the maximum number of link-values
+ * @param maxParametersPerLink the maximum number of parameters of a single link-value
+ */
+public record ProcessingLimits(
+    int maxHeaderLength,
+    int maxTokens,
+    int maxLinks,
+    int maxParametersPerLink) {
+
+  private static final ProcessingLimits UNLIMITED = new ProcessingLimits(
+      Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+  /**
+   * Creates processing limits.
+   *
+   * @throws IllegalArgumentException if the header length or parameter limit is negative, or the
+   *                                  token or link limit is less than one
+   */
+  public ProcessingLimits {
+    if (maxHeaderLength < 0) {
+      throw new IllegalArgumentException("maxHeaderLength must not be negative");
+    }
+    if (maxTokens < 1) {
+      throw new IllegalArgumentException("maxTokens must be at least 1");
+    }
+    if (maxLinks < 1) {
+      throw new IllegalArgumentException("maxLinks must be at least 1");
+    }
+    if (maxParametersPerLink < 0) {
+      throw new IllegalArgumentException("maxParametersPerLink must not be negative");
+    }
+  }
+
+  /**
+   * Limits that never apply, which is the default of a {@link WebLinkProcessor}.
+   *
+   * @return processing limits without any bound
+   */
+  public static ProcessingLimits unlimited() {
+    return UNLIMITED;
+  }
+
+  public ProcessingLimits withMaxHeaderLength(int maxHeaderLength) {
+    return new ProcessingLimits(maxHeaderLength, maxTokens, maxLinks, maxParametersPerLink);
+  }
+
+  public ProcessingLimits withMaxTokens(int maxTokens) {
+    return new ProcessingLimits(maxHeaderLength, maxTokens, maxLinks, maxParametersPerLink);
+  }
+
+  public ProcessingLimits withMaxLinks(int maxLinks) {
+    return new ProcessingLimits(maxHeaderLength, maxTokens, maxLinks, maxParametersPerLink);
+  }
+
+  public ProcessingLimits withMaxParametersPerLink(int maxParametersPerLink) {
+    return new ProcessingLimits(maxHeaderLength, maxTokens, maxLinks, maxParametersPerLink);
+  }
+
+  /**
+   * Evaluates if these limits bound anything at all.
+   *
+   * @return {@code true}, if every limit is {@link Integer#MAX_VALUE}, else {@code false}
+   */
+  public boolean isUnlimited() {
+    return equals(UNLIMITED);
+  }
+
+  /**
+   * Thrown when a Link header exceeds one of the configured {@link ProcessingLimits}.
+   * <p>
+   * Like the lexing and structure exceptions, the exception does not capture a stack trace.
+   */
+  public static class LimitExceededException extends RuntimeException {
+
+    public LimitExceededException(String message) {
+      super(message, null, false, false);
+    }
+  }
+}
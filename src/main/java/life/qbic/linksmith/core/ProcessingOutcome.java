@@ -0,0 +1,53 @@
+package life.qbic.linksmith.core;
+
+import java.util.Objects;
+import life.qbic.linksmith.spi.WebLinkValidator.ValidationResult;
+
+/**
+ * The outcome of {@link WebLinkProcessor#tryProcess(String)}: either the validation result, or
+ * the lexical or structural failure that prevented it.
+ *
+ * <pre>
+ *   {@code
+ *   switch (processor.tryProcess(header)) {
+ *     case Success success -> use(success.result().weblinks());
+ *     case LexFailure failure -> reject(failure.position(), failure.message());
+ *     case StructureFailure failure -> reject(failure.position(), failure.message());
+ *   }
+ *   }
+ * </pre>
+ */
+public sealed interface ProcessingOutcome {
+
+  /**
+   * The header was processed.
+   *
+   * @param result the validation result with the web links and the issue report
+   */
+  record Success(ValidationResult result) implements ProcessingOutcome {
+
+    public Success {
+      Objects.requireNonNull(result);
+    }
+  }
+
+  /**
+   * The header contains invalid characters (during tokenizing).
+   *
+   * @param position the zero-based position of the error, or {@code -1} if unknown
+   * @param message  the description of the error
+   */
+  record LexFailure(int position, String message) implements ProcessingOutcome {
+
+  }
+
+  /**
+   * The header does not have the expected structure (during parsing).
+   *
+   * @param position the zero-based position of the violating token, or {@code -1} if unknown
+   * @param message  the description of the violation
+   */
+  record StructureFailure(int position, String message) implements ProcessingOutcome {
+
+  }
+}
@@ -1,14 +1,16 @@
 package life.qbic.linksmith.core;
 
-import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Pattern;
+import life.qbic.linksmith.model.LinkTarget;
 import life.qbic.linksmith.model.WebLink;
 import life.qbic.linksmith.model.WebLinkParameter;
+import life.qbic.linksmith.internal.lexing.TokenChars;
 import life.qbic.linksmith.spi.WebLinkValidator;
+import life.qbic.linksmith.internal.parsing.CompactRawLinkHeader;
 import life.qbic.linksmith.internal.parsing.RawLink;
 import life.qbic.linksmith.internal.parsing.RawLinkHeader;
 import life.qbic.linksmith.internal.parsing.RawParam;
@@ -30,54 +32,162 @@ import life.qbic.linksmith.internal.parsing.RawParam;
  */
 public class Rfc8288WebLinkValidator implements WebLinkValidator {
 
-  // Defined in https://www.rfc-editor.org/rfc/rfc7230, section 3.2.6
-  private static final Pattern ALLOWED_TOKEN_CHARS = Pattern.compile(
-      "^[!#$%&'*+-.^_`|~0-9A-Za-z]+$");
+  // shared cache of validated targets, or null
+  private final TargetCache targetCache;
 
-  private Rfc8288WebLinkValidator() {}
+  private Rfc8288WebLinkValidator(TargetCache targetCache) {
+    this.targetCache = targetCache;
+  }
 
   public static WebLinkValidator create() {
-    return new Rfc8288WebLinkValidator();
+    return new Rfc8288WebLinkValidator(null);
+  }
+
+  /**
+   * Creates a validator that looks up the link targets in a cache, see {@link TargetCache}.
+   *
+   * @param targetCache the cache of validated targets, can be shared between validators
+   * @return the validator
+   * @throws NullPointerException if the cache is {@code null}
+   */
+  public static WebLinkValidator create(TargetCache targetCache) throws NullPointerException {
+    return new Rfc8288WebLinkValidator(Objects.requireNonNull(targetCache));
   }
 
   @Override
   public ValidationResult validate(RawLinkHeader rawLinkHeader) {
+    return validate(rawLinkHeader, ValidationMode.COMPLETE);
+  }
+
+  /**
+   * In {@link ValidationMode#FAIL_FAST} mode, validation stops after the first link with an error.
+   * The result is then the part of the complete result up to and including that link.
+   */
+  @Override
+  public ValidationResult validate(RawLinkHeader rawLinkHeader, ValidationMode mode) {
+    var failFast = Objects.requireNonNull(mode) == ValidationMode.FAIL_FAST;
     var recordedIssues = new ArrayList<Issue>();
 
     var webLinks = new ArrayList<WebLink>();
     for (RawLink rawLink : rawLinkHeader.rawLinks()) {
+      int issuesBefore = recordedIssues.size();
       var webLink = validate(rawLink, recordedIssues);
       if (webLink != null) {
         webLinks.add(webLink);
       }
+      if (failFast && containsError(recordedIssues, issuesBefore)) {
+        break;
+      }
+    }
+    return new ValidationResult(webLinks, new IssueReport(List.copyOf(recordedIssues)));
+  }
+
+  @Override
+  public ValidationResult validate(CompactRawLinkHeader rawLinkHeader) {
+    return validate(rawLinkHeader, ValidationMode.COMPLETE);
+  }
+
+  /**
+   * Validates the links of the compact header in place, without creating raw link and parameter
+   * objects. Token characters are checked on the spans of the source. The result is the same as
+   * for the record-based view of the header, also in {@link ValidationMode#FAIL_FAST} mode.
+   */
+  @Override
+  public ValidationResult validate(CompactRawLinkHeader rawLinkHeader, ValidationMode mode) {
+    var failFast = Objects.requireNonNull(mode) == ValidationMode.FAIL_FAST;
+    var recordedIssues = new ArrayList<Issue>();
+    var source = rawLinkHeader.source();
+
+    var webLinks = new ArrayList<WebLink>();
+    for (int link = 0; link < rawLinkHeader.linkCount(); link++) {
+      int issuesBefore = recordedIssues.size();
+      var target = toTarget(rawLinkHeader.uri(link), recordedIssues);
+      int parameterCount = rawLinkHeader.parameterCount(link);
+      var params = new ArrayList<WebLinkParameter>(parameterCount);
+      var seenParams = new HashSet<String>();
+      for (int parameter = 0; parameter < parameterCount; parameter++) {
+        var name = rawLinkHeader.parameterName(link, parameter);
+        var value = rawLinkHeader.parameterValue(link, parameter);
+        if (!TokenChars.isToken(source, rawLinkHeader.parameterNameStart(link, parameter),
+            rawLinkHeader.parameterNameEnd(link, parameter))) {
+          recordInvalidName(name, recordedIssues);
+        }
+        if (rawLinkHeader.hasTokenValue(link, parameter) && !TokenChars.isToken(source,
+            rawLinkHeader.parameterValueStart(link, parameter),
+            rawLinkHeader.parameterValueEnd(link, parameter))) {
+          recordInvalidValue(name, value, recordedIssues);
+        }
+        validateParamOccurrenceAndAddLink(name, value, seenParams, params, recordedIssues);
+      }
+      if (target != null) {
+        webLinks.add(new WebLink(target, params));
+      }
+      if (failFast && containsError(recordedIssues, issuesBefore)) {
+        break;
+      }
     }
     return new ValidationResult(webLinks, new IssueReport(List.copyOf(recordedIssues)));
   }
 
+  private static boolean containsError(List<Issue> issues, int from) {
+    for (int i = from; i < issues.size(); i++) {
+      if (issues.get(i).isError()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Every link is validated on its own, so parts of a header can be validated separately.
+   *
+   * @return always {@code true}
+   */
+  @Override
+  public boolean supportsPartialHeaders() {
+    return true;
+  }
+
   /**
    * Validation entry point for a single raw link. Any findings must be recorded in the provided
    * issue list. Only issue additions are allowed.
    * <p>
-   * In case the target is not a valid URI, the returned web link is {@code null}.
+   * In case the target is not a valid URI-Reference, the returned web link is {@code null}.
    *
    * @param rawLink        the raw link information from parsing
    * @param recordedIssues a list to record negative findings as warnings and errors
-   * @return a web link object, or {@code null}, in case the target is not a valid URI
+   * @return a web link object, or {@code null}, in case the target is not a valid URI-Reference
    */
   private WebLink validate(RawLink rawLink, List<Issue> recordedIssues) {
-    URI uri = null;
+    var target = toTarget(rawLink.rawURI(), recordedIssues);
+    var parameters = validateAndConvertParams(rawLink.rawParameters(), recordedIssues);
+
+    if (target == null) {
+      return null;
+    }
+    return new WebLink(target, parameters);
+  }
+
+  /**
+   * Creates the target of a link. In case the target is not a valid URI-Reference, an error is
+   * recorded.
+   * <p>
+   * Only the syntax is checked here, the {@link java.net.URI} is created when the consumer asks for
+   * it, see {@link LinkTarget}. With a {@link TargetCache}, repeated targets are taken from the
+   * cache.
+   *
+   * @param rawURI         the raw target
+   * @param recordedIssues a list to record negative findings as warnings and errors
+   * @return the target, or {@code null}, in case the target is not a valid URI-Reference
+   */
+  private LinkTarget toTarget(String rawURI, List<Issue> recordedIssues) {
     try {
-      uri = URI.create(rawLink.rawURI());
+      return targetCache == null ? LinkTarget.parse(rawURI) : targetCache.parse(rawURI);
     } catch (IllegalArgumentException e) {
       recordedIssues.add(
-          Issue.error("Invalid URI '%s': %s".formatted(rawLink.rawURI(), e.getMessage())));
-    }
-    var parameters = validateAndConvertParams(rawLink.rawParameters(), recordedIssues);
-
-    if (uri == null) {
+          Issue.error(IssueCode.INVALID_URI, rawURI, e.getMessage()));
       return null;
     }
-    return new WebLink(uri, parameters);
   }
 
   /**
@@ -96,7 +206,8 @@ public class Rfc8288WebLinkValidator implements WebLinkValidator {
     var seenParams = new HashSet<String>();
     for (RawParam rawParam : rawParams) {
       validateParam(rawParam, recordedIssues);
-      validateParamOccurrenceAndAddLink(rawParam, seenParams, params, recordedIssues);
+      validateParamOccurrenceAndAddLink(rawParam.name(), rawParam.value(), seenParams, params,
+          recordedIssues);
     }
     return params;
   }
@@ -109,30 +220,32 @@ public class Rfc8288WebLinkValidator implements WebLinkValidator {
    *
    * <ul>
    *   <li>the parameter name MUST contain allowed characters only (see token definition)</li>
+   *   <li>a value serialised as unquoted token MUST contain allowed characters only</li>
    * </ul>
+   * <p>
+   * Allowed token chars are defined by <a href="https://www.rfc-editor.org/rfc/rfc7230">RFC
+   * 7230</a>, section 3.2.6, see {@link TokenChars}.
    *
    * @param rawParam       the raw parameter to be validated
    * @param recordedIssues a list of issues to record more findings
    */
   private void validateParam(RawParam rawParam, List<Issue> recordedIssues) {
-    if (tokenContainsInvalidChars(rawParam.name())) {
-      recordedIssues.add(
-          Issue.error("Invalid parameter name '%s': Only the characters '%s' are allowed".formatted(
-              rawParam.name(), ALLOWED_TOKEN_CHARS.pattern())));
+    if (!TokenChars.isToken(rawParam.name())) {
+      recordInvalidName(rawParam.name(), recordedIssues);
+    }
+    if (rawParam.token() && !TokenChars.isToken(rawParam.value())) {
+      recordInvalidValue(rawParam.name(), rawParam.value(), recordedIssues);
     }
   }
 
-  /**
-   * Looks for the presence of invalid chars.
-   * <p>
-   * Allowed token chars are defined by <a href="https://www.rfc-editor.org/rfc/rfc7230">RFC
-   * 7230</a>, section 3.2.6.
-   *
-   * @param token the token to be checked for invalid characters
-   * @return true, if the token violates the token character specification, else false
-   */
-  private static boolean tokenContainsInvalidChars(String token) {
-    return !ALLOWED_TOKEN_CHARS.matcher(token).matches();
+  private static void recordInvalidName(String name, List<Issue> recordedIssues) {
+    recordedIssues.add(
+        Issue.error(IssueCode.INVALID_PARAMETER_NAME, name, TokenChars.TCHARS));
+  }
+
+  private static void recordInvalidValue(String name, String value, List<Issue> recordedIssues) {
+    recordedIssues.add(
+        Issue.error(IssueCode.INVALID_PARAMETER_VALUE, value, name, TokenChars.TCHARS));
   }
 
   /**
@@ -144,38 +257,38 @@ public class Rfc8288WebLinkValidator implements WebLinkValidator {
    * Note: occurrences after the first are ignored and issue a warning. This is a strict requirement
    * from the RFC 8288 and must be honored.
    *
-   * @param rawParam               the raw parameter value
+   * @param name                   the raw parameter name
+   * @param value                  the raw parameter value, {@code null} without value
    * @param recordedParameterNames a set to check, if a parameter has been already seen in the link
    * @param parameters             a list of converted link parameters for the final web link
    *                               object
    * @param recordedIssues         a list of issue records to add new findings
    */
   private void validateParamOccurrenceAndAddLink(
-      RawParam rawParam,
+      String name,
+      String value,
       Set<String> recordedParameterNames,
       List<WebLinkParameter> parameters,
       List<Issue> recordedIssues) {
-    var rfcParamOptional = RfcLinkParameter.from(rawParam.name());
+    var rfcParamOptional = RfcLinkParameter.from(name);
 
     if (rfcParamOptional.isPresent()) {
       var rfcParam = rfcParamOptional.get();
       // the "hreflang" parameter is the only parameter that is allowed to occur more than once
       // see RFC 8288 for the parameter multiplicity definition
-      if (recordedParameterNames.contains(rawParam.name()) && !rfcParam.equals(
+      if (recordedParameterNames.contains(name) && !rfcParam.equals(
           RfcLinkParameter.HREFLANG)) {
-        recordedIssues.add(Issue.warning(
-            "Parameter '%s' is not allowed multiple times. Skipped parameter.".formatted(
-                rfcParam.rfcValue())));
+        recordedIssues.add(Issue.warning(IssueCode.DUPLICATE_PARAMETER, rfcParam.rfcValue()));
         return;
       }
     }
-    recordedParameterNames.add(rawParam.name());
+    recordedParameterNames.add(name);
 
     WebLinkParameter webLinkParameter;
-    if (rawParam.value() == null || rawParam.value().isEmpty()) {
-      webLinkParameter = WebLinkParameter.withoutValue(rawParam.name());
+    if (value == null || value.isEmpty()) {
+      webLinkParameter = WebLinkParameter.withoutValue(name);
     } else {
-      webLinkParameter = WebLinkParameter.create(rawParam.name(), rawParam.value());
+      webLinkParameter = WebLinkParameter.create(name, value);
     }
     parameters.add(webLinkParameter);
   }
@@ -0,0 +1,257 @@
+package life.qbic.linksmith.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import life.qbic.linksmith.model.LinkTarget;
+
+/**
+ * Bounded cache of validated link targets, shared by the validations of many headers.
+ * <p>
+ * Web APIs tend to return the same targets with every record, e.g. the same {@code describedby},
+ * {@code license} or {@code cite-as} URIs. The cache maps the raw URI-Reference to its
+ * {@link LinkTarget}, so the syntax check is skipped for repeated targets and they share a single
+ * {@link java.net.URI} instance once it is created.
+ * <p>
+ * The cache is bounded by the number of entries and by their weight, which is the number of
+ * characters of the references. Eviction is frequency-aware: the access frequency of every
+ * reference is estimated with a small count-min sketch that ages by halving its counters. When
+ * the cache is full, the least frequent of the oldest few entries is chosen as victim, and a new
+ * reference is only admitted if it has been requested more often than all victims it needs. The
+ * other examined entries move to the end of the order, so frequent entries do not shield the
+ * entries behind them from eviction. Targets that are requested once do not displace frequent
+ * ones.
+ * <p>
+ * Only valid targets are cached. The cache is safe for concurrent use: lookups do not lock,
+ * admissions are serialised. The frequency estimates are approximate, concurrent updates of a
+ * counter may get lost, which only affects the choice of the evicted entry.
+ *
+ * <pre>
+ *   {@code
+ *   var cache = TargetCache.create(1024, 256 * 1024);
+ *   var processor = new WebLinkProcessor.Builder().withTargetCache(cache).build();
+ *   }
+ * </pre>
+ */
+public final class TargetCache {
+
+  // counters of the frequency sketch saturate at this value
+  private static final int MAX_FREQUENCY = 15;
+  private static final int MIN_COUNTERS = 1024;
+  // number of the oldest entries that are examined to choose a victim
+  private static final int VICTIM_SAMPLE = 8;
+  private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+  private final int maxEntries;
+  private final long maxWeight;
+
+  private final ConcurrentHashMap<String, LinkTarget> entries;
+  // entries in admission order, guarded by this
+  private final ArrayDeque<String> admissionOrder = new ArrayDeque<>();
+  private long weight;
+
+  private final int[] frequencies;
+  private final int sampleSize;
+  private final AtomicInteger samples = new AtomicInteger();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  private TargetCache(int maxEntries, long maxWeight) {
+    this.maxEntries = maxEntries;
+    this.maxWeight = maxWeight;
+    this.entries = new ConcurrentHashMap<>(Math.min(maxEntries, 1 << 16));
+    // a power of two of at least four counters per entry, small caches still see many references
+    int counters = (int) Math.min(Math.max(4L * maxEntries, MIN_COUNTERS), 1 << 24);
+    this.frequencies = new int[Integer.highestOneBit(counters - 1) << 1];
+    this.sampleSize = (int) Math.min(10L * counters / 4, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param maxEntries the maximum number of cached targets
+   * @param maxWeight  the maximum total number of characters of the cached references
+   * @return the cache
+   * @throws IllegalArgumentException if a bound is less than one
+   */
+  public static TargetCache create(int maxEntries, long maxWeight)
+      throws IllegalArgumentException {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries must be at least 1");
+    }
+    if (maxWeight < 1) {
+      throw new IllegalArgumentException("maxWeight must be at least 1");
+    }
+    return new TargetCache(maxEntries, maxWeight);
+  }
+
+  /**
+   * Returns the cached target for the reference, or parses it with
+   * {@link LinkTarget#parse(String)} and offers it to the cache.
+   *
+   * @param reference the raw URI-Reference
+   * @return the target
+   * @throws IllegalArgumentException if the reference is not a syntactically valid URI-Reference
+   * @throws NullPointerException     if the reference is {@code null}
+   */
+  public LinkTarget parse(String reference)
+      throws IllegalArgumentException, NullPointerException {
+    Objects.requireNonNull(reference);
+    recordAccess(reference);
+    var target = entries.get(reference);
+    if (target != null) {
+      hits.increment();
+      return target;
+    }
+    misses.increment();
+    target = LinkTarget.parse(reference);
+    return admit(reference, target);
+  }
+
+  /**
+   * Returns the number of requests that were answered from the cache.
+   *
+   * @return the number of cache hits
+   */
+  public long hits() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of requests that had to parse the reference, including invalid ones.
+   *
+   * @return the number of cache misses
+   */
+  public long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns the number of cached targets.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the total number of characters of the cached references.
+   *
+   * @return the weight of the entries
+   */
+  public synchronized long weight() {
+    return weight;
+  }
+
+  private synchronized LinkTarget admit(String reference, LinkTarget target) {
+    var present = entries.get(reference);
+    if (present != null) {
+      // a concurrent request admitted the reference first
+      return present;
+    }
+    int candidateWeight = reference.length();
+    if (candidateWeight > maxWeight) {
+      return target;
+    }
+    int candidateFrequency = frequency(reference);
+    // choose all victims first, a rejected candidate leaves the cache as it is
+    var victims = new ArrayList<String>();
+    long freedWeight = 0;
+    while (entries.size() - victims.size() >= maxEntries
+        || weight - freedWeight + candidateWeight > maxWeight) {
+      var victim = selectVictim(candidateFrequency);
+      if (victim == null) {
+        victims.forEach(admissionOrder::addFirst);
+        return target;
+      }
+      victims.add(victim);
+      freedWeight += victim.length();
+    }
+    for (String victim : victims) {
+      entries.remove(victim);
+      weight -= victim.length();
+    }
+    entries.put(reference, target);
+    admissionOrder.addLast(reference);
+    weight += candidateWeight;
+    return target;
+  }
+
+  /**
+   * Takes the least frequent of the oldest entries out of the admission order, if it has been
+   * requested less often than the candidate. The other examined entries are moved to the end of
+   * the order.
+   *
+   * @return the victim, or {@code null} if no examined entry is less frequent than the candidate
+   */
+  private String selectVictim(int candidateFrequency) {
+    String victim = null;
+    int victimFrequency = Integer.MAX_VALUE;
+    int sample = Math.min(VICTIM_SAMPLE, admissionOrder.size());
+    for (int i = 0; i < sample; i++) {
+      var entry = admissionOrder.pollFirst();
+      int entryFrequency = frequency(entry);
+      if (entryFrequency < victimFrequency) {
+        if (victim != null) {
+          admissionOrder.addLast(victim);
+        }
+        victim = entry;
+        victimFrequency = entryFrequency;
+      } else {
+        admissionOrder.addLast(entry);
+      }
+    }
+    if (victim != null && victimFrequency >= candidateFrequency) {
+      admissionOrder.addFirst(victim);
+      return null;
+    }
+    return victim;
+  }
+
+  private void recordAccess(String reference) {
+    int hash = spread(reference.hashCode());
+    for (int seed : SEEDS) {
+      int index = index(hash, seed);
+      if (frequencies[index] < MAX_FREQUENCY) {
+        frequencies[index]++;
+      }
+    }
+    if (samples.incrementAndGet() >= sampleSize) {
+      age();
+    }
+  }
+
+  /**
+   * Halves all counters, so the sketch follows changes of the access pattern.
+   */
+  private void age() {
+    samples.set(0);
+    for (int i = 0; i < frequencies.length; i++) {
+      frequencies[i] >>>= 1;
+    }
+  }
+
+  private int frequency(String reference) {
+    int hash = spread(reference.hashCode());
+    int frequency = MAX_FREQUENCY;
+    for (int seed : SEEDS) {
+      frequency = Math.min(frequency, frequencies[index(hash, seed)]);
+    }
+    return frequency;
+  }
+
+  private int index(int hash, int seed) {
+    int h = (hash ^ seed) * 0x9E3779B1;
+    return (h ^ (h >>> 16)) & (frequencies.length - 1);
+  }
+
+  private static int spread(int hash) {
+    int h = hash * 0x7FEB352D;
+    return h ^ (h >>> 15);
+  }
+}
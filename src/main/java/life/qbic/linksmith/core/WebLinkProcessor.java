@@ -1,23 +1,47 @@
 package life.qbic.linksmith.core;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import life.qbic.linksmith.core.ProcessingLimits.LimitExceededException;
+import life.qbic.linksmith.internal.lexing.WebLinkToken;
+import life.qbic.linksmith.model.WebLink;
+import life.qbic.linksmith.model.WebLinkParameter;
+import life.qbic.linksmith.spi.WebLinkHandler;
 import life.qbic.linksmith.spi.WebLinkLexer;
 import life.qbic.linksmith.spi.WebLinkLexer.LexingException;
 import life.qbic.linksmith.spi.WebLinkParser;
 import life.qbic.linksmith.spi.WebLinkParser.StructureException;
+import life.qbic.linksmith.spi.WebLinkRefiner;
+import life.qbic.linksmith.spi.WebLinkTokenCursor;
 import life.qbic.linksmith.spi.WebLinkValidator;
 import life.qbic.linksmith.spi.WebLinkValidator.Issue;
+import life.qbic.linksmith.spi.WebLinkValidator.IssueCode;
 import life.qbic.linksmith.spi.WebLinkValidator.IssueReport;
+import life.qbic.linksmith.spi.WebLinkValidator.ValidationMode;
 import life.qbic.linksmith.spi.WebLinkValidator.ValidationResult;
 import life.qbic.linksmith.internal.lexing.SimpleWebLinkLexer;
+import life.qbic.linksmith.internal.parsing.CompactRawLinkHeader;
+import life.qbic.linksmith.internal.parsing.DirectWebLinkParser;
+import life.qbic.linksmith.internal.parsing.RawLink;
+import life.qbic.linksmith.internal.parsing.RawLinkHeader;
+import life.qbic.linksmith.internal.parsing.RawParam;
 import life.qbic.linksmith.internal.parsing.SimpleWebLinkParser;
+import life.qbic.linksmith.internal.parsing.SkippedLinkValue;
 
 /**
  * Configurable processor for raw web link strings from the HTTP Link header field.
  * <p>
  * The underlying standard is RFC 8288
+ * <p>
+ * A processor does not keep any state between calls, so a single instance can be shared by
+ * concurrent threads as long as the configured lexer, parser and validators are thread-safe,
+ * which holds for the default components.
  *
  */
 public class WebLinkProcessor {
@@ -25,20 +49,58 @@ public class WebLinkProcessor {
   private final WebLinkLexer lexer;
   private final WebLinkParser parser;
   private final List<WebLinkValidator> validators;
+  private final List<WebLinkRefiner> refiners;
+  private final ValidationMode mode;
+  private final ProcessingLimits limits;
+
+  // lexer and parser can hand over tokens through a lazy cursor instead of a token list
+  private final boolean streaming;
+
+  // fused lexer and parser for string input, if the default lexer and parser are configured
+  private final DirectWebLinkParser direct;
+
+  // pool for processing large headers in parts, if configured and applicable
+  private final ForkJoinPool pool;
+
+  // validators can validate parts of a header, so the parts are validated in parallel as well
+  private final boolean partialValidation;
 
   private WebLinkProcessor() {
     this.lexer = null;
     this.parser = null;
     this.validators = null;
+    this.refiners = null;
+    this.mode = null;
+    this.limits = null;
+    this.streaming = false;
+    this.direct = null;
+    this.pool = null;
+    this.partialValidation = false;
   }
 
   private WebLinkProcessor(
       WebLinkLexer selectedLexer,
       WebLinkParser selectedParser,
-      List<WebLinkValidator> selectedValidators) {
+      List<WebLinkValidator> selectedValidators,
+      List<WebLinkRefiner> selectedRefiners,
+      ValidationMode selectedMode,
+      ProcessingLimits selectedLimits,
+      ForkJoinPool selectedPool) {
     this.lexer = Objects.requireNonNull(selectedLexer);
     this.parser = Objects.requireNonNull(selectedParser);
     this.validators = List.copyOf(Objects.requireNonNull(selectedValidators));
+    this.refiners = List.copyOf(Objects.requireNonNull(selectedRefiners));
+    this.mode = Objects.requireNonNull(selectedMode);
+    this.limits = Objects.requireNonNull(selectedLimits);
+    this.streaming = lexer.supportsStreaming() && parser.supportsStreaming();
+    this.direct = lexer instanceof SimpleWebLinkLexer && parser instanceof SimpleWebLinkParser
+        ? directParser((SimpleWebLinkParser) parser) : null;
+    this.pool = direct != null && !((SimpleWebLinkParser) parser).isRecovering()
+        && limits.isUnlimited() ? selectedPool : null;
+    // a failing part must stop the validation of the following parts, so fail-fast validation
+    // runs on the merged links
+    this.partialValidation = mode == ValidationMode.COMPLETE
+        && validators.stream().allMatch(WebLinkValidator::supportsPartialHeaders);
   }
 
   /**
@@ -51,8 +113,30 @@ public class WebLinkProcessor {
    *   <li>Tokenization: the raw string gets translated into enumerated token values</li>
    *   <li>Parsing: the token collection gets structurally parsed and checked, the result is an AST of raw link values</li>
    *   <li>Validation: one or more validation steps to semantically check the raw web links</li>
+   *   <li>Refinement: optional checks on the web links converted by the last validator (see
+   *   {@link WebLinkRefiner})</li>
    * </ol>
    * <p>
+   * If both lexer and parser support streaming (see {@link WebLinkLexer#supportsStreaming()} and
+   * {@link WebLinkParser#supportsStreaming()}), tokenization and parsing run interleaved over a
+   * {@link life.qbic.linksmith.spi.WebLinkTokenCursor} and no token list is materialised. With
+   * the default lexer and parser, both steps are fused into a single pass by
+   * {@link DirectWebLinkParser}, which does not create any tokens and hands the links to the
+   * validators in compact form (see {@link WebLinkValidator#validate(CompactRawLinkHeader)}).
+   * <p>
+   * The configured {@link ProcessingLimits} are enforced during processing. The header length is
+   * checked up front, the token, link and parameter counts while the tokens are consumed.
+   * <p>
+   * If the header is malformed, the first error in header order is reported when tokenization and
+   * parsing run interleaved, which includes the default lexer and parser. For
+   * {@code relhttp://x/y,<,rel}, the missing {@code <} at position 0 is reported as
+   * {@link StructureException}, although the unterminated URI at position 14 is a lexing error.
+   * Components without streaming support tokenize the whole header first, so they report any
+   * lexing error before a structural one.
+   * <p>
+   * Large headers are processed in parts on a fork/join pool, if one is configured (see
+   * {@link Builder#withParallelism(ForkJoinPool)}).
+   * <p>
    * The caller is advised to check the {@link ValidationResult#report()} in case issues have been recorded.
    * <p>
    * By contract of the validation interface, validators MUST record issues as errors in case there are severe semantically
@@ -66,19 +150,461 @@ public class WebLinkProcessor {
    *                              tokenizing)
    * @throws StructureException   in case the header does not have the expected structure (during
    *                              parsing)
-   * @throws NullPointerException in case the raw link header is {@code null}
+   * @throws LimitExceededException in case the header exceeds the configured processing limits
+   * @throws NullPointerException   in case the raw link header is {@code null}
    */
   public ValidationResult process(String rawLinkHeader)
-      throws LexingException, StructureException, NullPointerException {
+      throws LexingException, StructureException, LimitExceededException, NullPointerException {
+    var header = Objects.requireNonNull(rawLinkHeader);
+    checkLength(header.length());
+    if (pool != null && header.length() > 2 * ParallelHeaderTask.SEGMENT_LENGTH) {
+      var result = processParallel(header);
+      if (result != null) {
+        return result;
+      }
+      // a part is malformed, the sequential processing reports it with the right position
+    }
+    if (direct != null) {
+      return validate(parseDirect(header, null), rawLinkHeader);
+    }
+    return validate(parseWithLexer(header), rawLinkHeader);
+  }
+
+  /**
+   * Parses a header with the configured lexer and parser, used if there is no direct parser.
+   */
+  private RawLinkHeader parseWithLexer(String header) {
+    if (streaming) {
+      return parser.parse(limit(lexer.cursor(header), null));
+    }
+    return parser.parse(limit(lexer.lex(header)));
+  }
+
+  /**
+   * Processes a raw link header string like {@link #process(String)}, but returns lexical and
+   * structural failures as outcome instead of throwing them.
+   * <p>
+   * This suits pipelines where malformed headers are expected rather than exceptional. Headers
+   * with several errors fail with the error that {@link #process(String)} reports, with the
+   * default components this is the first error in header order.
+   *
+   * @param rawLinkHeader the serialized raw link header value
+   * @return a {@link ProcessingOutcome.Success} with the validation result, or the failure with its
+   * position and message
+   * @throws LimitExceededException in case the header exceeds the configured processing limits
+   * @throws NullPointerException   in case the raw link header is {@code null}
+   */
+  public ProcessingOutcome tryProcess(String rawLinkHeader)
+      throws LimitExceededException, NullPointerException {
+    try {
+      return new ProcessingOutcome.Success(process(rawLinkHeader));
+    } catch (LexingException e) {
+      return new ProcessingOutcome.LexFailure(e.position(), e.getMessage());
+    } catch (StructureException e) {
+      return new ProcessingOutcome.StructureFailure(e.position(), e.getMessage());
+    }
+  }
+
+  /**
+   * Processes a raw link header given as ASCII bytes, without decoding it into a string first.
+   * <p>
+   * The processing steps are the same as for {@link #process(String)}, the bytes are handed to
+   * {@link WebLinkLexer#lex(ByteBuffer)}. The position and limit of the buffer are not modified.
+   *
+   * @param rawLinkHeader the serialized raw link header value as bytes
+   * @return a validation result with the web links and an issue report with recorded findings of
+   * warnings and errors.
+   * @throws LexingException      in case the header contains invalid characters (during
+   *                              tokenizing)
+   * @throws StructureException   in case the header does not have the expected structure (during
+   *                              parsing)
+   * @throws LimitExceededException in case the header exceeds the configured processing limits
+   * @throws NullPointerException   in case the raw link header is {@code null}
+   */
+  public ValidationResult process(ByteBuffer rawLinkHeader)
+      throws LexingException, StructureException, LimitExceededException, NullPointerException {
+    var header = Objects.requireNonNull(rawLinkHeader);
+    checkLength(header.remaining());
+    RawLinkHeader parsedHeader;
+    if (streaming) {
+      parsedHeader = parser.parse(limit(lexer.cursor(header), null));
+    } else {
+      parsedHeader = parser.parse(limit(lexer.lex(header)));
+    }
+    return validate(parsedHeader, rawLinkHeader);
+  }
+
+  /**
+   * Processes a raw link header string like {@link #process(String)}, reusing the scratch state of
+   * the given workspace.
+   * <p>
+   * With the default lexer and parser, the scratch buffers of the fused parser are reused (see
+   * {@link DirectWebLinkParser.Scratch}). If other lexers and parsers support streaming, the lexer
+   * cursor of the previous call on the workspace is reset to the new header instead of creating a
+   * new one (see
+   * {@link WebLinkLexer#cursor(String, life.qbic.linksmith.spi.WebLinkTokenCursor)}). Otherwise,
+   * the header is processed the same way as without a workspace.
+   *
+   * @param rawLinkHeader the serialized raw link header value
+   * @param workspace     the workspace owned by the caller, must not be used concurrently
+   * @return a validation result with the web links and an issue report with recorded findings of
+   * warnings and errors.
+   * @throws LexingException      in case the header contains invalid characters (during
+   *                              tokenizing)
+   * @throws StructureException   in case the header does not have the expected structure (during
+   *                              parsing)
+   * @throws LimitExceededException in case the header exceeds the configured processing limits
+   * @throws NullPointerException   in case the raw link header or the workspace is {@code null}
+   */
+  public ValidationResult process(String rawLinkHeader, WebLinkWorkspace workspace)
+      throws LexingException, StructureException, LimitExceededException, NullPointerException {
+    var header = Objects.requireNonNull(rawLinkHeader);
+    Objects.requireNonNull(workspace);
+    if (!streaming) {
+      return process(header);
+    }
+    checkLength(header.length());
+    if (direct != null) {
+      return validate(parseDirect(header, workspace), rawLinkHeader);
+    }
+    workspace.cursor = lexer.cursor(header, workspace.cursor);
+    return validate(parser.parse(limit(workspace.cursor, workspace)), rawLinkHeader);
+  }
+
+  /**
+   * Processes a raw link header given as ASCII bytes like {@link #process(ByteBuffer)}, reusing
+   * the scratch state of the given workspace, same as {@link #process(String, WebLinkWorkspace)}.
+   *
+   * @param rawLinkHeader the serialized raw link header value as bytes
+   * @param workspace     the workspace owned by the caller, must not be used concurrently
+   * @return a validation result with the web links and an issue report with recorded findings of
+   * warnings and errors.
+   * @throws LexingException      in case the header contains invalid characters (during
+   *                              tokenizing)
+   * @throws StructureException   in case the header does not have the expected structure (during
+   *                              parsing)
+   * @throws LimitExceededException in case the header exceeds the configured processing limits
+   * @throws NullPointerException   in case the raw link header or the workspace is {@code null}
+   */
+  public ValidationResult process(ByteBuffer rawLinkHeader, WebLinkWorkspace workspace)
+      throws LexingException, StructureException, LimitExceededException, NullPointerException {
+    var header = Objects.requireNonNull(rawLinkHeader);
+    Objects.requireNonNull(workspace);
+    if (!streaming) {
+      return process(header);
+    }
+    checkLength(header.remaining());
+    workspace.cursor = lexer.cursor(header, workspace.cursor);
+    return validate(parser.parse(limit(workspace.cursor, workspace)), rawLinkHeader);
+  }
+
+  /**
+   * Processes a raw link header string and pushes its links to the given handler, without
+   * building web links.
+   * <p>
+   * With the default lexer and parser, the events are pushed while the header is scanned and
+   * nothing of the header is retained after the handler returns. With other components, the
+   * header is parsed first and the parsed links are replayed to the handler.
+   * <p>
+   * The configured validators are not applied: the handler receives the raw links of a
+   * structurally valid header, and is responsible for interpreting their targets and parameters.
+   * The processing limits apply as for {@link #process(String)}.
+   *
+   * @param rawLinkHeader the serialized raw link header value
+   * @param handler       the handler to receive the links
+   * @throws LexingException      in case the header contains invalid characters (during
+   *                              tokenizing)
+   * @throws StructureException   in case the header does not have the expected structure (during
+   *                              parsing)
+   * @throws LimitExceededException in case the header exceeds the configured processing limits
+   * @throws NullPointerException   in case the raw link header or the handler is {@code null}
+   */
+  public void process(String rawLinkHeader, WebLinkHandler handler)
+      throws LexingException, StructureException, LimitExceededException, NullPointerException {
+    var header = Objects.requireNonNull(rawLinkHeader);
+    Objects.requireNonNull(handler);
+    checkLength(header.length());
+    if (direct != null) {
+      if (limits.isUnlimited()) {
+        direct.parse(header, handler);
+      } else {
+        direct.parse(header, handler, limiter(null).start());
+      }
+      return;
+    }
+    for (RawLink rawLink : parseWithLexer(header).rawLinks()) {
+      handler.startLink(rawLink.rawURI());
+      for (RawParam rawParam : rawLink.rawParameters()) {
+        handler.param(rawParam.name(), rawParam.value());
+      }
+      handler.endLink();
+      if (handler.isDone()) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Looks for the first link in a raw link header string that matches the given predicate.
+   * <p>
+   * The links are tested in header order on their raw form, see {@link LinkPredicate}. Processing
+   * stops at the first matching link, the rest of the header is neither scanned nor validated, so
+   * a malformed remainder is not reported. Only the matching link is validated by the configured
+   * validators and refiners. Their issues are not reported, but a link with an error is regarded
+   * invalid and not returned.
+   *
+   * @param rawLinkHeader the serialized raw link header value
+   * @param predicate     the condition the link must match
+   * @return the first matching web link, or {@link Optional#empty()} if no link matches, the
+   * validation of the matching link reports an error or a refiner filters it
+   * @throws LexingException      in case the header up to the match contains invalid characters
+   *                              (during tokenizing)
+   * @throws StructureException   in case the header up to the match does not have the expected
+   *                              structure (during parsing)
+   * @throws LimitExceededException in case the header up to the match exceeds the configured
+   *                                processing limits
+   * @throws NullPointerException   in case the raw link header or the predicate is {@code null}
+   */
+  public Optional<WebLink> findFirst(String rawLinkHeader, LinkPredicate predicate)
+      throws LexingException, StructureException, LimitExceededException, NullPointerException {
     var header = Objects.requireNonNull(rawLinkHeader);
-    var tokenizedHeader = lexer.lex(header);
-    var parsedHeader = parser.parse(tokenizedHeader);
+    var finder = new FirstLinkFinder(Objects.requireNonNull(predicate));
+    if (direct != null) {
+      process(header, finder);
+    } else {
+      // the raw links keep whether their values were serialised as token
+      checkLength(header.length());
+      for (RawLink rawLink : parseWithLexer(header).rawLinks()) {
+        if (finder.test(rawLink)) {
+          break;
+        }
+      }
+    }
+    if (finder.match == null) {
+      return Optional.empty();
+    }
+    var result = validate(new RawLinkHeader(List.of(finder.match)), rawLinkHeader);
+    if (result.report().hasErrors()) {
+      return Optional.empty();
+    }
+    return result.weblinks().stream().findFirst();
+  }
+
+  /**
+   * Collects the links of a header one after another, until a link matches the predicate.
+   */
+  private static final class FirstLinkFinder implements WebLinkHandler {
+
+    private final LinkPredicate predicate;
+
+    private String target;
+    private final List<WebLinkParameter> parameters = new ArrayList<>();
+    private final List<RawParam> rawParameters = new ArrayList<>();
+
+    private RawLink match;
+
+    FirstLinkFinder(LinkPredicate predicate) {
+      this.predicate = predicate;
+    }
 
+    @Override
+    public void startLink(CharSequence uri) {
+      target = uri.toString();
+      parameters.clear();
+      rawParameters.clear();
+    }
+
+    @Override
+    public void param(CharSequence name, CharSequence value) {
+      addParameter(DirectWebLinkParser.rawParam(name, value));
+    }
+
+    @Override
+    public void endLink() {
+      if (predicate.test(target, Collections.unmodifiableList(parameters))) {
+        match = new RawLink(target, List.copyOf(rawParameters));
+      }
+    }
+
+    /**
+     * Tests a link that has already been parsed.
+     *
+     * @return {@code true}, if the link matches, else {@code false}
+     */
+    boolean test(RawLink rawLink) {
+      startLink(rawLink.rawURI());
+      rawLink.rawParameters().forEach(this::addParameter);
+      endLink();
+      return isDone();
+    }
+
+    private void addParameter(RawParam rawParam) {
+      rawParameters.add(rawParam);
+      parameters.add(new WebLinkParameter(rawParam.name(), rawParam.value()));
+    }
+
+    @Override
+    public boolean isDone() {
+      return match != null;
+    }
+  }
+
+  /**
+   * Processes a large header in parts on the fork/join pool and merges the parts in header order,
+   * with the same result as the sequential processing.
+   *
+   * @param header the raw link header
+   * @return the validation result, or {@code null} if the header is malformed
+   */
+  private ValidationResult processParallel(String header) {
+    int[] commas = ParallelHeaderTask.topLevelCommas(header);
+    if (commas == null || commas.length == 0) {
+      return null;
+    }
+    List<ParallelHeaderTask.Part> parts;
+    try {
+      parts = pool.invoke(new ParallelHeaderTask(header, commas, direct,
+          partialValidation ? validators : null));
+    } catch (LexingException | StructureException e) {
+      return null;
+    }
+    if (!partialValidation) {
+      var rawLinks = new ArrayList<RawLink>();
+      for (ParallelHeaderTask.Part part : parts) {
+        rawLinks.addAll(part.rawLinks());
+      }
+      return validate(new RawLinkHeader(rawLinks), header);
+    }
+    // same order as for the whole header: all issues of a validator before the next validator
+    var aggregatedIssues = new ArrayList<Issue>();
+    for (int i = 0; i < validators.size(); i++) {
+      for (ParallelHeaderTask.Part part : parts) {
+        aggregatedIssues.addAll(part.results().get(i).report().issues());
+      }
+    }
+    var weblinks = new ArrayList<WebLink>();
+    for (ParallelHeaderTask.Part part : parts) {
+      weblinks.addAll(part.results().getLast().weblinks());
+    }
+    return new ValidationResult(refine(weblinks, aggregatedIssues),
+        new IssueReport(aggregatedIssues));
+  }
+
+  private static DirectWebLinkParser directParser(SimpleWebLinkParser parser) {
+    return parser.isRecovering()
+        ? DirectWebLinkParser.createRecovering() : DirectWebLinkParser.create();
+  }
+
+  private void checkLength(int headerLength) throws LimitExceededException {
+    if (headerLength > limits.maxHeaderLength()) {
+      throw new LimitExceededException(
+          "Link header exceeds the maximum length of %d characters: %d".formatted(
+              limits.maxHeaderLength(), headerLength));
+    }
+  }
+
+  /**
+   * Decorates the cursor with the enforcement of the processing limits, if there are any.
+   *
+   * @param cursor    the cursor of the lexer
+   * @param workspace a workspace to reuse the decorator from, or {@code null}
+   * @return the decorated cursor, or the given one if the processor is unlimited
+   */
+  private WebLinkTokenCursor limit(WebLinkTokenCursor cursor, WebLinkWorkspace workspace)
+      throws LimitExceededException {
+    if (limits.isUnlimited()) {
+      return cursor;
+    }
+    return limiter(workspace).reset(cursor);
+  }
+
+  /**
+   * Parses the header in a single pass with the fused parser into the compact form, enforcing the
+   * processing limits on the recognised tokens.
+   */
+  private CompactRawLinkHeader parseDirect(String header, WebLinkWorkspace workspace)
+      throws LimitExceededException {
+    if (workspace == null) {
+      return limits.isUnlimited()
+          ? direct.parseCompact(header) : direct.parseCompact(header, limiter(null).start());
+    }
+    if (workspace.parserScratch == null) {
+      workspace.parserScratch = DirectWebLinkParser.Scratch.create();
+    }
+    if (limits.isUnlimited()) {
+      return direct.parseCompact(header, workspace.parserScratch);
+    }
+    return direct.parseCompact(header, limiter(workspace).start(), workspace.parserScratch);
+  }
+
+  private LimitingTokenCursor limiter(WebLinkWorkspace workspace) {
+    if (workspace == null) {
+      return new LimitingTokenCursor(limits);
+    }
+    if (workspace.limiter == null || !workspace.limiter.limits().equals(limits)) {
+      workspace.limiter = new LimitingTokenCursor(limits);
+    }
+    return workspace.limiter;
+  }
+
+  private List<WebLinkToken> limit(List<WebLinkToken> tokens) throws LimitExceededException {
+    if (!limits.isUnlimited()) {
+      LimitingTokenCursor.check(tokens, limits);
+    }
+    return tokens;
+  }
+
+  private ValidationResult validate(RawLinkHeader parsedHeader, Object rawLinkHeader) {
+    if (mode == ValidationMode.FAIL_FAST) {
+      return validate(parsedHeader.skipped(),
+          validator -> validator.validate(parsedHeader, mode), rawLinkHeader);
+    }
+    return validate(parsedHeader.skipped(), validator -> validator.validate(parsedHeader),
+        rawLinkHeader);
+  }
+
+  private ValidationResult validate(CompactRawLinkHeader parsedHeader, Object rawLinkHeader) {
+    if (mode == ValidationMode.FAIL_FAST) {
+      return validate(parsedHeader.skipped(),
+          validator -> validator.validate(parsedHeader, mode), rawLinkHeader);
+    }
+    return validate(parsedHeader.skipped(), validator -> validator.validate(parsedHeader),
+        rawLinkHeader);
+  }
+
+  /**
+   * Runs all configured validators on the parsed header and aggregates their issues, preceded by an
+   * error for every link-value the parser skipped. The web links of the last validator are then
+   * passed through the refiners.
+   * <p>
+   * In {@link ValidationMode#FAIL_FAST} mode, the first step that reports an error ends the
+   * validation: the remaining validators and refiners are not run, and a skipped link-value ends
+   * it before any validator runs.
+   *
+   * @param skipped       the link-values the parser skipped
+   * @param validation    the call of a validator on the parsed header
+   * @param rawLinkHeader the original input, used for error reporting only
+   * @return the refined web links of the last validator with the issues of all validators and
+   * refiners
+   */
+  private ValidationResult validate(List<SkippedLinkValue> skipped,
+      Function<WebLinkValidator, ValidationResult> validation, Object rawLinkHeader) {
     var aggregatedIssues = new ArrayList<Issue>();
+    for (SkippedLinkValue skippedLinkValue : skipped) {
+      aggregatedIssues.add(Issue.error(IssueCode.SKIPPED_LINK_VALUE, skippedLinkValue.start(),
+          skippedLinkValue.end(), skippedLinkValue.reason()));
+      if (mode == ValidationMode.FAIL_FAST) {
+        return new ValidationResult(List.of(), new IssueReport(aggregatedIssues));
+      }
+    }
     ValidationResult cachedValidationResult = null;
     for (WebLinkValidator validator : validators) {
-      cachedValidationResult = validator.validate(parsedHeader);
+      cachedValidationResult = validation.apply(validator);
       aggregatedIssues.addAll(cachedValidationResult.report().issues());
+      if (mode == ValidationMode.FAIL_FAST && cachedValidationResult.report().hasErrors()) {
+        return new ValidationResult(cachedValidationResult.weblinks(),
+            new IssueReport(aggregatedIssues));
+      }
     }
 
     if (cachedValidationResult == null) {
@@ -86,10 +612,30 @@ public class WebLinkProcessor {
           "No validation result was found after processing: " + rawLinkHeader);
     }
 
-    return new ValidationResult(cachedValidationResult.weblinks(),
+    return new ValidationResult(refine(cachedValidationResult.weblinks(), aggregatedIssues),
         new IssueReport(aggregatedIssues));
   }
 
+  /**
+   * Runs the configured refiners one after another on the converted web links.
+   *
+   * @param weblinks         the web links of the last validator
+   * @param aggregatedIssues the issues of the processing so far, the refiners' issues are added
+   * @return the web links kept by all refiners
+   */
+  private List<WebLink> refine(List<WebLink> weblinks, List<Issue> aggregatedIssues) {
+    var refinedLinks = weblinks;
+    for (WebLinkRefiner refiner : refiners) {
+      var refinement = refiner.refine(refinedLinks);
+      aggregatedIssues.addAll(refinement.report().issues());
+      refinedLinks = refinement.weblinks();
+      if (mode == ValidationMode.FAIL_FAST && refinement.report().hasErrors()) {
+        break;
+      }
+    }
+    return refinedLinks;
+  }
+
   /**
    * Builder for a {@link WebLinkProcessor}.
    * <p>
@@ -139,6 +685,18 @@ public class WebLinkProcessor {
 
     private final List<WebLinkValidator> configuredValidators = new ArrayList<>();
 
+    private final List<WebLinkRefiner> configuredRefiners = new ArrayList<>();
+
+    private ProcessingLimits configuredLimits;
+
+    private boolean recovering;
+
+    private ForkJoinPool configuredPool;
+
+    private TargetCache configuredTargetCache;
+
+    private ValidationMode configuredMode = ValidationMode.COMPLETE;
+
     /**
      * Configures a different lexer from the default that shall be used in the processing.
      *
@@ -183,6 +741,112 @@ public class WebLinkProcessor {
       return this;
     }
 
+    /**
+     * Configures a refiner that checks the web links converted by the validators.
+     * <p>
+     * Multiple refiners can be configured by calling this method repeatedly. They run after all
+     * validators, in the order they have been configured, each on the web links kept by the
+     * preceding one. Unlike an additional validator, a refiner does not convert the header again.
+     *
+     * <pre>
+     *   {@code
+     *   var processor = new Builder().withRefiner(signpostingChecks)
+     *                                .withRefiner(otherChecks)
+     *                                .build()
+     *   }
+     * </pre>
+     *
+     * @param refiner the refiner to be used in the processing
+     * @return the builder instance
+     */
+    public Builder withRefiner(WebLinkRefiner refiner) {
+      configuredRefiners.add(Objects.requireNonNull(refiner));
+      return this;
+    }
+
+    /**
+     * Configures limits for the resources spent on a single header. By default, the processor is
+     * {@link ProcessingLimits#unlimited()}.
+     *
+     * @param limits the limits to enforce during processing
+     * @return the builder instance
+     */
+    public Builder withLimits(ProcessingLimits limits) {
+      configuredLimits = limits;
+      return this;
+    }
+
+    /**
+     * Configures the default parser to skip malformed link-values instead of failing the whole
+     * header (see {@link SimpleWebLinkParser#createRecovering()}). Every skipped link-value is
+     * reported as error with the code {@link IssueCode#SKIPPED_LINK_VALUE} in the issue report,
+     * next to the well-formed links.
+     * <p>
+     * A parser configured with {@link #withParser(WebLinkParser)} is used as it is.
+     *
+     * @return the builder instance
+     */
+    public Builder withRecovery() {
+      recovering = true;
+      return this;
+    }
+
+    /**
+     * Configures a fork/join pool to process large headers in parallel, e.g. linksets with
+     * thousands of link-values.
+     * <p>
+     * Headers of more than a few thousand characters are split into ranges of link-values at
+     * their top-level ',' (COMMA) characters, and the ranges are parsed as tasks on the pool. If
+     * all validators support it (see {@link WebLinkValidator#supportsPartialHeaders()}), the
+     * ranges are validated in the same tasks, else the merged links are validated at once. The
+     * result is the same as without parallelism. A malformed header is processed again
+     * sequentially, so its failure is reported the same way.
+     * <p>
+     * Parallel processing only applies to {@link #process(String)} with the default lexer and
+     * parser, without recovery and without processing limits. Otherwise, the pool is not used.
+     *
+     * @param pool the pool to run the tasks on
+     * @return the builder instance
+     */
+    public Builder withParallelism(ForkJoinPool pool) {
+      configuredPool = Objects.requireNonNull(pool);
+      return this;
+    }
+
+    /**
+     * Configures the validation mode. By default, headers are validated
+     * {@link ValidationMode#COMPLETE completely}.
+     * <p>
+     * With {@link ValidationMode#FAIL_FAST}, validation stops at the first error: validators that
+     * support the mode (see {@link WebLinkValidator#validate(RawLinkHeader, ValidationMode)}) skip
+     * the remaining links, and the remaining validators and refiners are not run. The result then
+     * only contains the issues and web links up to the error. Use it when the only question is
+     * whether the header is valid, e.g. via {@link IssueReport#hasErrors()}.
+     *
+     * @param mode the validation mode
+     * @return the builder instance
+     */
+    public Builder withValidationMode(ValidationMode mode) {
+      configuredMode = Objects.requireNonNull(mode);
+      return this;
+    }
+
+    /**
+     * Configures a cache of validated link targets for the default validator, see
+     * {@link TargetCache}. The cache can be shared between processors.
+     * <p>
+     * Validators configured with {@link #withValidator(WebLinkValidator)} are used as they are,
+     * use {@link Rfc8288WebLinkValidator#create(TargetCache)} to combine the cache with other
+     * validators.
+     *
+     * @param targetCache the cache to look up link targets in
+     * @return the builder instance
+     */
+    public Builder withTargetCache(TargetCache targetCache) {
+      configuredTargetCache = Objects.requireNonNull(targetCache);
+      return this;
+    }
+
     /**
      * Creates instance of a web link processor object based on the configuration.
      *
@@ -193,20 +857,25 @@ public class WebLinkProcessor {
       var selectedParser = configuredParser == null ? defaultParser() : configuredParser;
       var selectedValidators =
           configuredValidators.isEmpty() ? List.of(defaultValidator()) : configuredValidators;
+      var selectedLimits =
+          configuredLimits == null ? ProcessingLimits.unlimited() : configuredLimits;
 
-      return new WebLinkProcessor(selectedLexer, selectedParser, selectedValidators);
+      return new WebLinkProcessor(selectedLexer, selectedParser, selectedValidators,
+          configuredRefiners, configuredMode, selectedLimits, configuredPool);
     }
 
     private WebLinkParser defaultParser() {
-      return SimpleWebLinkParser.create();
+      return recovering ? SimpleWebLinkParser.createRecovering() : SimpleWebLinkParser.create();
     }
 
     private static WebLinkLexer defaultLexer() {
       return SimpleWebLinkLexer.create();
     }
 
-    private static WebLinkValidator defaultValidator() {
-      return Rfc8288WebLinkValidator.create();
+    private WebLinkValidator defaultValidator() {
+      return configuredTargetCache == null
+          ? Rfc8288WebLinkValidator.create()
+          : Rfc8288WebLinkValidator.create(configuredTargetCache);
     }
   }
 }
@@ -0,0 +1,60 @@
+package life.qbic.linksmith.core;
+
+import life.qbic.linksmith.internal.parsing.DirectWebLinkParser;
+import life.qbic.linksmith.spi.WebLinkTokenCursor;
+
+/**
+ * Reusable scratch state for {@link WebLinkProcessor#process(String, WebLinkWorkspace)}.
+ * <p>
+ * A workspace keeps the parser buffers or the lexer state of the last processed header, so the
+ * next header processed with the same workspace does not allocate them again. Only the state that
+ * is dropped after processing is reused; the returned web links and issues are never shared
+ * between calls.
+ * <p>
+ * The caller owns the workspace and decides about its scope, for example one workspace per
+ * request or per connection. Workspaces are not bound to a thread, which makes them suitable for
+ * virtual threads, but they must not be used by more than one thread at a time.
+ *
+ * <pre>
+ *   {@code
+ *   var workspace = WebLinkWorkspace.create();
+ *   for (String header : headers) {
+ *     var result = processor.process(header, workspace);
+ *   }
+ *   }
+ * </pre>
+ * <p>
+ * Note: the implementation of this class is NOT thread-safe.
+ */
+public final class WebLinkWorkspace {
+
+  // cursor of the last processed header, handed back to the lexer for reuse
+  WebLinkTokenCursor cursor;
+
+  // buffers of the fused parser of the default processor
+  DirectWebLinkParser.Scratch parserScratch;
+
+  // decorator enforcing the processing limits on the cursor, if the processor has any
+  LimitingTokenCursor limiter;
+
+  private WebLinkWorkspace() {}
+
+  /**
+   * Creates a new, empty workspace.
+   *
+   * @return the new workspace
+   */
+  public static WebLinkWorkspace create() {
+    return new WebLinkWorkspace();
+  }
+
+  /**
+   * Drops the state of the last processed header, so the workspace does not keep it reachable.
+   * The next processing call will allocate the state anew.
+   */
+  public void clear() {
+    cursor = null;
+    parserScratch = null;
+    limiter = null;
+  }
+}
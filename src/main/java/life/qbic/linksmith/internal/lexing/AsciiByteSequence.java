@@ -0,0 +1,139 @@
+package life.qbic.linksmith.internal.lexing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Read-only {@link CharSequence} view over raw header bytes.
+ * <p>
+ * Every byte maps to exactly one character (ISO-8859-1), which is lossless for the ASCII
+ * serialisation of HTTP header field values and keeps {@code obs-text} octets intact. The view
+ * does not copy the bytes; strings are only created for the spans that are requested via
+ * {@link #subSequence(int, int)}.
+ * <p>
+ * Offsets are relative to the position of the buffer at construction time. A view can be pointed
+ * at another buffer with {@link #reset(ByteBuffer)}.
+ */
+final class AsciiByteSequence implements CharSequence {
+
+  private final DelimiterScanner scanner;
+
+  private ByteBuffer bytes;
+
+  // absolute index of the first byte of the view in the buffer
+  private int base;
+
+  private int length;
+
+  /**
+   * Creates a new view over the remaining bytes of the given buffer. The position and limit of the
+   * given buffer are not modified.
+   *
+   * @param bytes the buffer holding the raw header bytes
+   * @throws NullPointerException if the buffer is {@code null}
+   */
+  AsciiByteSequence(ByteBuffer bytes) throws NullPointerException {
+    this(bytes, DelimiterScanner.detect());
+  }
+
+  /**
+   * Creates a new view over the remaining bytes of the given buffer, using the given scanner to
+   * search for delimiters.
+   *
+   * @param bytes   the buffer holding the raw header bytes
+   * @param scanner the scanner used by {@link #indexOf(char, int)}
+   * @throws NullPointerException if the buffer or scanner is {@code null}
+   */
+  AsciiByteSequence(ByteBuffer bytes, DelimiterScanner scanner) throws NullPointerException {
+    this.scanner = Objects.requireNonNull(scanner);
+    reset(bytes);
+  }
+
+  /**
+   * Points this view to the remaining bytes of another buffer. The position and limit of the given
+   * buffer are not modified.
+   *
+   * @param bytes the buffer holding the raw header bytes
+   * @throws NullPointerException if the buffer is {@code null}
+   */
+  void reset(ByteBuffer bytes) throws NullPointerException {
+    this.bytes = Objects.requireNonNull(bytes);
+    this.base = bytes.position();
+    this.length = bytes.remaining();
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    return (char) (bytes.get(base + Objects.checkIndex(index, length)) & 0xFF);
+  }
+
+  /**
+   * Creates a string for the given span of bytes.
+   *
+   * @param start the start index, inclusive
+   * @param end   the end index, exclusive
+   * @return a new string with the decoded characters of the span
+   */
+  @Override
+  public String subSequence(int start, int end) {
+    Objects.checkFromToIndex(start, end, length());
+    if (bytes.hasArray()) {
+      return new String(bytes.array(), bytes.arrayOffset() + base + start, end - start,
+          StandardCharsets.ISO_8859_1);
+    }
+    var span = new byte[end - start];
+    bytes.get(base + start, span);
+    return new String(span, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Returns the index of the first occurrence of the given ASCII character at or after the given
+   * index.
+   * <p>
+   * Array-backed buffers are searched with {@link DelimiterScanner#detect()}, which compares
+   * several bytes per step when the Vector API is available.
+   *
+   * @param c    the ASCII character to search for
+   * @param from the index to start the search from
+   * @return the index of the first occurrence, or {@code -1} if there is none
+   */
+  int indexOf(char c, int from) {
+    return indexOf(c, from, length());
+  }
+
+  /**
+   * Returns the index of the first occurrence of the given ASCII character in the given range.
+   *
+   * @param c    the ASCII character to search for
+   * @param from the index to start the search from, inclusive
+   * @param to   the index to end the search at, exclusive
+   * @return the index of the first occurrence, or {@code -1} if there is none
+   */
+  int indexOf(char c, int from, int to) {
+    if (from >= to) {
+      return -1;
+    }
+    if (bytes.hasArray()) {
+      int offset = bytes.arrayOffset() + base;
+      int found = scanner.indexOf(bytes.array(), offset + from, offset + to, (byte) c);
+      return found < 0 ? -1 : found - offset;
+    }
+    for (int i = from; i < to; i++) {
+      if (bytes.get(base + i) == (byte) c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public String toString() {
+    return subSequence(0, length());
+  }
+}
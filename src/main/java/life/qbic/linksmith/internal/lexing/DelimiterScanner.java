@@ -0,0 +1,95 @@
+package life.qbic.linksmith.internal.lexing;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Optional;
+
+/**
+ * Finds the next occurrence of a structural byte, e.g. the closing {@code >} of a URI-Reference or
+ * the closing {@code "} of a quoted-string, in raw header bytes.
+ * <p>
+ * Long URIs and titles make up most of the bytes of a typical signposting header, so this search
+ * dominates the lexing cost. {@link #detect()} selects a vectorised implementation based on the
+ * incubating Vector API when the {@code jdk.incubator.vector} module is present at runtime (e.g.
+ * {@code --add-modules jdk.incubator.vector}) and falls back to a scalar loop otherwise.
+ * <p>
+ * The vectorised implementation is only compiled with the {@code vector} build profile, from
+ * {@code src/vector/java}, so the default build does not depend on an incubating module. Without
+ * it, the scalar loop is used.
+ */
+interface DelimiterScanner {
+
+  /**
+   * Returns the index of the first occurrence of the target byte in the given range.
+   *
+   * @param bytes  the array to search in
+   * @param from   the start index, inclusive
+   * @param to     the end index, exclusive
+   * @param target the byte to search for
+   * @return the index of the first occurrence, or {@code -1} if the range does not contain it
+   */
+  int indexOf(byte[] bytes, int from, int to, byte target);
+
+  /**
+   * Returns the best available scanner for the current runtime.
+   *
+   * @return the vectorised scanner if the Vector API is available, else the scalar scanner
+   */
+  static DelimiterScanner detect() {
+    return Holder.VECTORISED.orElse(Holder.SCALAR);
+  }
+
+  /**
+   * Returns the vectorised scanner, if it is part of the build and the Vector API is available.
+   *
+   * @return the vectorised scanner, or {@link Optional#empty()} if it is not available
+   */
+  static Optional<DelimiterScanner> vectorised() {
+    return Holder.VECTORISED;
+  }
+
+  /**
+   * Returns the scalar scanner, which is always available.
+   *
+   * @return the scalar scanner
+   */
+  static DelimiterScanner scalar() {
+    return Holder.SCALAR;
+  }
+
+  /**
+   * Lazily initialised holder of the scanner implementations.
+   */
+  final class Holder {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final String VECTOR_SCANNER =
+        "life.qbic.linksmith.internal.lexing.VectorDelimiterScanner";
+
+    private static final DelimiterScanner SCALAR = (bytes, from, to, target) -> {
+      for (int i = from; i < to; i++) {
+        if (bytes[i] == target) {
+          return i;
+        }
+      }
+      return -1;
+    };
+
+    private static final Optional<DelimiterScanner> VECTORISED = loadVectorScanner();
+
+    private Holder() {}
+
+    private static Optional<DelimiterScanner> loadVectorScanner() {
+      if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+        return Optional.empty();
+      }
+      try {
+        // the class is missing unless the build used the vector profile
+        var type = MethodHandles.lookup().findClass(VECTOR_SCANNER);
+        return Optional.of((DelimiterScanner) type.getDeclaredConstructor().newInstance());
+      } catch (ReflectiveOperationException | LinkageError e) {
+        return Optional.empty();
+      }
+    }
+  }
+}
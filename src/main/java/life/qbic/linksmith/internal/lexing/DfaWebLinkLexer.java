@@ -0,0 +1,262 @@
+package life.qbic.linksmith.internal.lexing;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import life.qbic.linksmith.spi.OrderedTokenList;
+import life.qbic.linksmith.spi.WebLinkLexer;
+
+/**
+ * Table-driven lexer for RFC 8288 Web Link serialisations.
+ * <p>
+ * The lexer is a deterministic finite automaton over character classes of the ASCII range. The
+ * transition and action tables are precomputed once from the lexical productions of the
+ * serialisation:
+ *
+ * <pre>
+ *   {@code
+ *   link-value    = "<" URI-Reference ">" *( OWS ";" OWS link-param )
+ *   link-param    = token BWS [ "=" BWS ( token / quoted-string ) ]
+ *   quoted-string = DQUOTE *( qdtext / quoted-pair ) DQUOTE
+ *   quoted-pair   = "\" ( HTAB / SP / VCHAR / obs-text )
+ *   }
+ * </pre>
+ * <p>
+ * The rules are written down per character class and expanded into a transition table with one
+ * column per character, so every input character costs a single table lookup, independent of the
+ * state the automaton is in. Characters outside the ASCII range are treated like any other non-delimiter
+ * character.
+ * <p>
+ * The produced tokens are identical to the ones of {@link SimpleWebLinkLexer}, so both lexers can
+ * be exchanged freely, e.g. via {@code WebLinkProcessor.Builder#withLexer}.
+ */
+public final class DfaWebLinkLexer implements WebLinkLexer {
+
+  // Character classes
+  private static final int C_OTHER = 0;
+  private static final int C_WS = 1;
+  private static final int C_LT = 2;
+  private static final int C_GT = 3;
+  private static final int C_SEMICOLON = 4;
+  private static final int C_EQUALS = 5;
+  private static final int C_COMMA = 6;
+  private static final int C_DQUOTE = 7;
+  private static final int C_BACKSLASH = 8;
+  private static final int CLASS_COUNT = 9;
+
+  // States
+  private static final int S_BETWEEN = 0;
+  private static final int S_URI = 1;
+  private static final int S_QUOTED = 2;
+  private static final int S_IDENT = 3;
+  private static final int S_QUOTED_PAIR = 4;
+  private static final int STATE_COUNT = 5;
+
+  // Actions, a single byte per transition:
+  // bits 0-3: ordinal + 1 of a single character token emitted at the current position, 0 for none
+  private static final int SINGLE_MASK = 0x0F;
+  // emits the content token of the current state from the mark to the current position
+  private static final int CLOSE = 0x10;
+  // marks the content start at the next position
+  private static final int MARK_NEXT = 0x20;
+  // marks the content start at the current position
+  private static final int MARK_HERE = 0x40;
+  // flags the content token for unescaping of quoted-pairs
+  private static final int ESCAPE = 0x80;
+
+  private static final WebLinkTokenType[] TYPES = WebLinkTokenType.values();
+
+  private static final WebLinkTokenType[] CONTENT_TYPES = {
+      null, WebLinkTokenType.URI, WebLinkTokenType.QUOTED, WebLinkTokenType.IDENT, null};
+
+  // one column per ASCII character, the last column covers all non-ASCII characters
+  private static final int COLUMNS = 129;
+
+  /*
+   * Transition table with one row per state and one column per character. Each entry holds the
+   * row offset of the next state in the low 16 bits and the action in the high bits, so a step
+   * costs a single table lookup.
+   */
+  private static final int[] TRANSITIONS = compile(classRules(), characterClasses());
+
+  private static byte[] characterClasses() {
+    var classes = new byte[COLUMNS];
+    // OWS/BWS: space and horizontal tab, CR/LF are accepted defensively
+    classes[' '] = C_WS;
+    classes['\t'] = C_WS;
+    classes['\r'] = C_WS;
+    classes['\n'] = C_WS;
+    classes['<'] = C_LT;
+    classes['>'] = C_GT;
+    classes[';'] = C_SEMICOLON;
+    classes['='] = C_EQUALS;
+    classes[','] = C_COMMA;
+    classes['"'] = C_DQUOTE;
+    classes['\\'] = C_BACKSLASH;
+    return classes;
+  }
+
+  /**
+   * Describes the automaton on the level of character classes. Each entry holds the next state in
+   * the low byte and the action in the second byte.
+   */
+  private static int[] classRules() {
+    var rules = new int[STATE_COUNT * CLASS_COUNT];
+
+    // between tokens: whitespace is skipped, delimiters are emitted, content tokens are opened
+    rule(rules, S_BETWEEN, C_WS, S_BETWEEN, 0);
+    rule(rules, S_BETWEEN, C_LT, S_URI, single(WebLinkTokenType.LT) | MARK_NEXT);
+    rule(rules, S_BETWEEN, C_GT, S_BETWEEN, single(WebLinkTokenType.GT));
+    rule(rules, S_BETWEEN, C_SEMICOLON, S_BETWEEN, single(WebLinkTokenType.SEMICOLON));
+    rule(rules, S_BETWEEN, C_EQUALS, S_BETWEEN, single(WebLinkTokenType.EQUALS));
+    rule(rules, S_BETWEEN, C_COMMA, S_BETWEEN, single(WebLinkTokenType.COMMA));
+    rule(rules, S_BETWEEN, C_DQUOTE, S_QUOTED, MARK_NEXT);
+    rule(rules, S_BETWEEN, C_OTHER, S_IDENT, MARK_HERE);
+    rule(rules, S_BETWEEN, C_BACKSLASH, S_IDENT, MARK_HERE);
+
+    // URI-Reference: everything up to the closing ">"
+    for (int c = 0; c < CLASS_COUNT; c++) {
+      rule(rules, S_URI, c, S_URI, 0);
+    }
+    rule(rules, S_URI, C_GT, S_BETWEEN, CLOSE | single(WebLinkTokenType.GT));
+
+    // quoted-string: everything up to the closing DQUOTE, a backslash escapes the next character
+    for (int c = 0; c < CLASS_COUNT; c++) {
+      rule(rules, S_QUOTED, c, S_QUOTED, 0);
+      rule(rules, S_QUOTED_PAIR, c, S_QUOTED, 0);
+    }
+    rule(rules, S_QUOTED, C_DQUOTE, S_BETWEEN, CLOSE);
+    rule(rules, S_QUOTED, C_BACKSLASH, S_QUOTED_PAIR, ESCAPE);
+
+    // token: ends at whitespace or any delimiter, which is then handled like between tokens
+    for (int c = 0; c < CLASS_COUNT; c++) {
+      int between = rules[S_BETWEEN * CLASS_COUNT + c];
+      rule(rules, S_IDENT, c, between & 0xFF, CLOSE | (between >>> 8));
+    }
+    rule(rules, S_IDENT, C_OTHER, S_IDENT, 0);
+    rule(rules, S_IDENT, C_BACKSLASH, S_IDENT, 0);
+    return rules;
+  }
+
+  private static void rule(int[] rules, int state, int characterClass, int next, int action) {
+    rules[state * CLASS_COUNT + characterClass] = (action << 8) | next;
+  }
+
+  private static int single(WebLinkTokenType type) {
+    return type.ordinal() + 1;
+  }
+
+  /**
+   * Expands the class-level rules into the per-character transition table.
+   */
+  private static int[] compile(int[] rules, byte[] classes) {
+    var table = new int[STATE_COUNT * COLUMNS];
+    for (int state = 0; state < STATE_COUNT; state++) {
+      for (int c = 0; c < COLUMNS; c++) {
+        int rule = rules[state * CLASS_COUNT + classes[c]];
+        table[state * COLUMNS + c] = ((rule >>> 8) << 16) | ((rule & 0xFF) * COLUMNS);
+      }
+    }
+    return table;
+  }
+
+  private DfaWebLinkLexer() {}
+
+  public static DfaWebLinkLexer create() {
+    return new DfaWebLinkLexer();
+  }
+
+  @Override
+  public OrderedTokenList lex(String input) throws LexingException {
+    return tokenize(input).asTokenList();
+  }
+
+  @Override
+  public OrderedTokenList lex(ByteBuffer input) throws LexingException, NullPointerException {
+    return tokenize(input).toTokenList();
+  }
+
+  @Override
+  public OrderedTokenList lex(byte[] input, int offset, int length)
+      throws LexingException, NullPointerException, IndexOutOfBoundsException {
+    Objects.checkFromIndexSize(offset, length, input.length);
+    return lex(ByteBuffer.wrap(input, offset, length));
+  }
+
+  /**
+   * Lex the given input string into an offset-based token buffer.
+   *
+   * @param input the raw Link header field-value or link-value
+   * @return a token buffer ending with an EOF token
+   * @throws LexingException if the input is not lexically well-formed
+   */
+  public TokenBuffer tokenize(String input) throws LexingException {
+    return run(input != null ? input : "");
+  }
+
+  /**
+   * Lexes the remaining bytes of the buffer into an offset-based token buffer.
+   * <p>
+   * The position and limit of the given buffer are not modified. Token offsets are relative to the
+   * position of the buffer. The token buffer reads the token text from the given buffer, whose
+   * bytes must stay unchanged as long as the token buffer is in use.
+   *
+   * @param input the raw Link header field-value as ASCII bytes
+   * @return a token buffer ending with an EOF token
+   * @throws LexingException      if the input is not lexically well-formed
+   * @throws NullPointerException if the buffer is {@code null}
+   */
+  public TokenBuffer tokenize(ByteBuffer input) throws LexingException, NullPointerException {
+    return run(new AsciiByteSequence(Objects.requireNonNull(input)));
+  }
+
+  private static TokenBuffer run(CharSequence input) {
+    var tokens = new TokenBuffer(input);
+    int length = input.length();
+    // the state is kept as row offset into the transition table
+    int row = S_BETWEEN * COLUMNS;
+    int mark = 0;
+    boolean escaped = false;
+
+    for (int pos = 0; pos < length; pos++) {
+      char c = input.charAt(pos);
+      int transition = TRANSITIONS[row + Math.min(c, COLUMNS - 1)];
+      if (transition == row) {
+        // self-loop without action, the common case inside URIs, tokens and quoted-strings
+        continue;
+      }
+      int action = transition >>> 16;
+      if (action != 0) {
+        if ((action & CLOSE) != 0) {
+          tokens.add(CONTENT_TYPES[row / COLUMNS], mark, pos, escaped);
+          escaped = false;
+        }
+        int single = action & SINGLE_MASK;
+        if (single != 0) {
+          tokens.add(TYPES[single - 1], pos, pos + 1);
+        }
+        if ((action & MARK_NEXT) != 0) {
+          mark = pos + 1;
+        } else if ((action & MARK_HERE) != 0) {
+          mark = pos;
+        }
+        if ((action & ESCAPE) != 0) {
+          escaped = true;
+        }
+      }
+      row = transition & 0xFFFF;
+    }
+
+    switch (row / COLUMNS) {
+      case S_URI -> throw new LexingException(
+          "Unterminated URI reference: missing '>' for '<' at position " + (mark - 1), mark - 1);
+      case S_QUOTED, S_QUOTED_PAIR -> throw new LexingException(
+          "Unterminated quoted-string starting at position " + (mark - 1), mark - 1);
+      case S_IDENT -> tokens.add(WebLinkTokenType.IDENT, mark, length);
+      default -> {
+        // nothing pending
+      }
+    }
+    tokens.add(WebLinkTokenType.EOF, length, length);
+    return tokens;
+  }
+}
@@ -0,0 +1,230 @@
+package life.qbic.linksmith.internal.lexing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import life.qbic.linksmith.spi.WebLinkLexer.LexingException;
+
+/**
+ * Resumable lexer for Link header field-values that arrive in chunks.
+ * <p>
+ * Chunks are passed to {@link #feed(CharSequence)} or {@link #feed(ByteBuffer)} as they arrive.
+ * Every call returns the tokens that have been completed by the chunk, so a consumer can start
+ * processing them before the last chunk has been received. Input that cannot be tokenised yet (a
+ * URI without its closing "&gt;", a quoted-string without its closing quote, or an IDENT at the
+ * end of the chunk) is carried over to the next call. {@link #finish()} marks the end of input and
+ * returns the remaining tokens including the EOF token.
+ * <p>
+ * Token positions are absolute offsets into the concatenated input, so the tokens of all calls
+ * together are equal to the tokens {@link SimpleWebLinkLexer#lex(String)} produces for the full
+ * input, no matter where the input was split.
+ * <p>
+ * Note: the implementation of this class is NOT thread-safe.
+ */
+public final class IncrementalWebLinkLexer {
+
+  // input that has been fed but is not tokenised yet
+  private final StringBuilder pending = new StringBuilder();
+
+  // absolute offset of the first pending character
+  private int offset = 0;
+
+  // index in pending up to which an incomplete URI or quoted-string has already been searched
+  private int searched = 0;
+
+  // whether the quoted-string searched so far contains quoted-pairs
+  private boolean quotedPairs = false;
+
+  private boolean finished = false;
+
+  private IncrementalWebLinkLexer() {}
+
+  public static IncrementalWebLinkLexer create() {
+    return new IncrementalWebLinkLexer();
+  }
+
+  /**
+   * Feeds the next chunk of the header field-value.
+   *
+   * @param chunk the next characters of the input
+   * @return the tokens completed by this chunk, in ascending order by position
+   * @throws NullPointerException  if the chunk is {@code null}
+   * @throws IllegalStateException if {@link #finish()} has already been called
+   */
+  public List<WebLinkToken> feed(CharSequence chunk)
+      throws NullPointerException, IllegalStateException {
+    Objects.requireNonNull(chunk);
+    ensureNotFinished();
+    pending.append(chunk);
+    return scan(false);
+  }
+
+  /**
+   * Feeds the remaining bytes of the buffer as the next chunk of the header field-value. Every
+   * byte is mapped to one character (ISO-8859-1), same as {@link SimpleWebLinkLexer#lex(ByteBuffer)}.
+   * <p>
+   * The position and limit of the given buffer are not modified.
+   *
+   * @param chunk the next bytes of the input
+   * @return the tokens completed by this chunk, in ascending order by position
+   * @throws NullPointerException  if the chunk is {@code null}
+   * @throws IllegalStateException if {@link #finish()} has already been called
+   */
+  public List<WebLinkToken> feed(ByteBuffer chunk)
+      throws NullPointerException, IllegalStateException {
+    return feed(StandardCharsets.ISO_8859_1.decode(chunk.duplicate()));
+  }
+
+  /**
+   * Marks the end of input and returns the remaining tokens.
+   *
+   * @return the remaining tokens, ending with an EOF token
+   * @throws LexingException       if the input ends within a URI or quoted-string
+   * @throws IllegalStateException if {@link #finish()} has already been called
+   */
+  public List<WebLinkToken> finish() throws LexingException, IllegalStateException {
+    ensureNotFinished();
+    finished = true;
+    var tokens = scan(true);
+    tokens.add(WebLinkToken.of(WebLinkTokenType.EOF, "", offset + pending.length()));
+    return tokens;
+  }
+
+  private void ensureNotFinished() {
+    if (finished) {
+      throw new IllegalStateException("Input has already been finished");
+    }
+  }
+
+  /**
+   * Tokenises the pending input as far as possible and drops the consumed characters.
+   *
+   * @param endOfInput whether more input can follow; if not, incomplete tokens are errors
+   */
+  private List<WebLinkToken> scan(boolean endOfInput) {
+    var tokens = new ArrayList<WebLinkToken>();
+    int length = pending.length();
+    int pos = 0;
+
+    while (true) {
+      while (pos < length && TokenChars.isWhitespace(pending.charAt(pos))) {
+        pos++;
+      }
+      if (pos >= length) {
+        break;
+      }
+
+      int tokenStart = pos;
+      char c = pending.charAt(pos);
+
+      if (c == '<') {
+        int close = indexOf('>', pos + 1);
+        if (close < 0) {
+          if (endOfInput) {
+            throw new LexingException(
+                "Unterminated URI reference: missing '>' for '<' at position " + (offset + pos),
+                offset + pos);
+          }
+          break;
+        }
+        add(tokens, WebLinkTokenType.LT, pos, pos + 1);
+        add(tokens, WebLinkTokenType.URI, pos + 1, close);
+        add(tokens, WebLinkTokenType.GT, close, close + 1);
+        pos = close + 1;
+      } else if (c == '"') {
+        int close = closingQuote(pos + 1);
+        if (close < 0) {
+          if (endOfInput) {
+            throw new LexingException(
+                "Unterminated quoted-string starting at position " + (offset + pos),
+                offset + pos);
+          }
+          break;
+        }
+        if (quotedPairs) {
+          tokens.add(WebLinkToken.of(WebLinkTokenType.QUOTED,
+              TokenChars.unescape(pending, pos + 1, close), offset + pos + 1));
+        } else {
+          add(tokens, WebLinkTokenType.QUOTED, pos + 1, close);
+        }
+        pos = close + 1;
+      } else if (TokenChars.isDelimiter(c)) {
+        add(tokens, delimiterType(c), pos, pos + 1);
+        pos++;
+      } else {
+        pos++;
+        while (pos < length && !TokenChars.isDelimiter(pending.charAt(pos))
+            && !TokenChars.isWhitespace(pending.charAt(pos))) {
+          pos++;
+        }
+        if (pos >= length && !endOfInput) {
+          // the IDENT might continue in the next chunk
+          pos = tokenStart;
+          break;
+        }
+        add(tokens, WebLinkTokenType.IDENT, tokenStart, pos);
+      }
+    }
+
+    pending.delete(0, pos);
+    offset += pos;
+    if (searched > 0) {
+      searched -= pos;
+    }
+    return tokens;
+  }
+
+  /**
+   * Searches for the closing delimiter of a URI. If it is not found, the searched range is
+   * remembered, so a URI spanning many chunks is only searched once.
+   */
+  private int indexOf(char delimiter, int from) {
+    int found = pending.indexOf(String.valueOf(delimiter), Math.max(from, searched));
+    searched = found < 0 ? pending.length() : 0;
+    return found;
+  }
+
+  /**
+   * Searches for the closing quote of a quoted-string, skipping quoted-pairs. Like
+   * {@link #indexOf(char, int)}, the search resumes where it stopped in the previous chunk. If a
+   * chunk ends with a backslash, the search resumes after the escaped character.
+   */
+  private int closingQuote(int from) {
+    if (searched == 0) {
+      quotedPairs = false;
+    }
+    int length = pending.length();
+    int i = Math.max(from, searched);
+    while (i < length) {
+      char c = pending.charAt(i);
+      if (c == '"') {
+        searched = 0;
+        return i;
+      }
+      if (c == '\\') {
+        quotedPairs = true;
+        i += 2;
+      } else {
+        i++;
+      }
+    }
+    searched = i;
+    return -1;
+  }
+
+  private void add(List<WebLinkToken> tokens, WebLinkTokenType type, int start, int end) {
+    String text = TokenBuffer.text(pending, type, start, end);
+    tokens.add(WebLinkToken.of(type, text, offset + start));
+  }
+
+  private static WebLinkTokenType delimiterType(char c) {
+    return switch (c) {
+      case '>' -> WebLinkTokenType.GT;
+      case ';' -> WebLinkTokenType.SEMICOLON;
+      case '=' -> WebLinkTokenType.EQUALS;
+      default -> WebLinkTokenType.COMMA;
+    };
+  }
+}
@@ -1,8 +1,10 @@
 package life.qbic.linksmith.internal.lexing;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import life.qbic.linksmith.spi.OrderedTokenList;
 import life.qbic.linksmith.spi.WebLinkLexer;
+import life.qbic.linksmith.spi.WebLinkTokenCursor;
 
 /**
  * Simple scanning lexer for RFC 8288 Web Link serialisations.
@@ -12,10 +14,22 @@ import life.qbic.linksmith.spi.WebLinkLexer;
  *   <li>Skips ASCII whitespace (OWS/BWS) between tokens</li>
  *   <li>Treats URIs as everything between "&lt;" and "&gt;"</li>
  *   <li>Treats unquoted tokens as IDENT</li>
- *   <li>Produces QUOTED tokens for quoted-string values (without the quotes)</li>
+ *   <li>Produces QUOTED tokens for quoted-string values (without the quotes), quoted-pairs are
+ *   unescaped</li>
  *   <li>Emits an EOF token at the end of input</li>
  * </ul>
  * <p>
+ * Tokens are recorded as offsets in a {@link TokenBuffer}, token text is only created on demand.
+ * {@link #lex(String)} adapts the buffer to the {@code List<WebLinkToken>} API.
+ * <p>
+ * Raw header bytes can be lexed directly with {@link #lex(ByteBuffer)} and
+ * {@link #lex(byte[], int, int)}, which avoids decoding the full header into a string.
+ * <p>
+ * URIs and quoted-strings are skipped in bulk up to their closing delimiter. For raw bytes the
+ * search is vectorised in builds with the {@code vector} profile when the
+ * {@code jdk.incubator.vector} module is available at runtime, and falls back to a scalar loop
+ * otherwise.
+ * <p>
  * Parsing and semantic validation are handled by later stages.
  */
 public final class SimpleWebLinkLexer implements WebLinkLexer {
@@ -27,99 +41,361 @@ public final class SimpleWebLinkLexer implements WebLinkLexer {
   }
 
   @Override
-  public List<WebLinkToken> lex(String input) throws LexingException {
-    return new Scanner(input).scan();
+  public OrderedTokenList lex(String input) throws LexingException {
+    return tokenize(input).asTokenList();
+  }
+
+  /**
+   * Lex the given input string into an offset-based token buffer.
+   * <p>
+   * In contrast to {@link #lex(String)}, no token objects and no token text are created during
+   * lexing.
+   *
+   * @param input the raw Link header field-value or link-value
+   * @return a token buffer ending with an EOF token
+   * @throws LexingException if the input is not lexically well-formed
+   */
+  public TokenBuffer tokenize(String input) throws LexingException {
+    return scan(input != null ? input : "");
+  }
+
+  /**
+   * Lex the given input string into an existing token buffer, which is reset first. The buffer
+   * keeps its grown capacity, so repeated lexing into the same buffer does not allocate.
+   *
+   * @param input  the raw Link header field-value or link-value
+   * @param tokens the buffer to record the tokens in
+   * @return the given token buffer, ending with an EOF token
+   * @throws LexingException      if the input is not lexically well-formed
+   * @throws NullPointerException if the buffer is {@code null}
+   */
+  public TokenBuffer tokenize(String input, TokenBuffer tokens)
+      throws LexingException, NullPointerException {
+    var text = input != null ? input : "";
+    Objects.requireNonNull(tokens).reset(text);
+    return new Scanner(text).scanInto(tokens);
+  }
+
+  /**
+   * Lexes the remaining bytes of the buffer directly, without decoding them into a string first.
+   * Only the text of URI, IDENT and QUOTED tokens is decoded into strings, before the tokens are
+   * returned.
+   * <p>
+   * The position and limit of the given buffer are not modified. Token positions are relative to
+   * the position of the buffer. The returned tokens do not refer to the buffer, so it can be
+   * reused right away.
+   *
+   * @param input the raw Link header field-value as ASCII bytes
+   * @return list of tokens ending with an EOF token
+   * @throws LexingException      if the input is not lexically well-formed
+   * @throws NullPointerException if the buffer is {@code null}
+   */
+  @Override
+  public OrderedTokenList lex(ByteBuffer input) throws LexingException, NullPointerException {
+    return tokenize(input).toTokenList();
+  }
+
+  /**
+   * Lexes a slice of a byte array directly, without decoding it into a string first.
+   * <p>
+   * Token positions are relative to {@code offset}.
+   *
+   * @param input  the array holding the raw Link header field-value as ASCII bytes
+   * @param offset the index of the first byte to lex
+   * @param length the number of bytes to lex
+   * @return list of tokens ending with an EOF token
+   * @throws LexingException           if the input is not lexically well-formed
+   * @throws NullPointerException      if the array is {@code null}
+   * @throws IndexOutOfBoundsException if the slice is out of the array bounds
+   */
+  @Override
+  public OrderedTokenList lex(byte[] input, int offset, int length)
+      throws LexingException, NullPointerException, IndexOutOfBoundsException {
+    Objects.checkFromIndexSize(offset, length, input.length);
+    return lex(ByteBuffer.wrap(input, offset, length));
+  }
+
+  /**
+   * Lexes the remaining bytes of the buffer into an offset-based token buffer.
+   * <p>
+   * The position and limit of the given buffer are not modified. Token offsets are relative to the
+   * position of the buffer. The token buffer reads the token text from the given buffer, whose
+   * bytes must stay unchanged as long as the token buffer is in use.
+   *
+   * @param input the raw Link header field-value as ASCII bytes
+   * @return a token buffer ending with an EOF token
+   * @throws LexingException      if the input is not lexically well-formed
+   * @throws NullPointerException if the buffer is {@code null}
+   */
+  public TokenBuffer tokenize(ByteBuffer input) throws LexingException, NullPointerException {
+    return scan(new AsciiByteSequence(input));
+  }
+
+  /**
+   * Creates a cursor that lexes the input lazily, one token per {@link WebLinkTokenCursor#next()}
+   * call. No token list is materialised.
+   *
+   * @param input the raw Link header field-value or link-value
+   * @return a cursor positioned on the first token
+   * @throws LexingException if the first token is not lexically well-formed
+   */
+  @Override
+  public WebLinkTokenCursor cursor(String input) throws LexingException {
+    return new Scanner(input != null ? input : "");
+  }
+
+  /**
+   * Creates a cursor that lexes the remaining bytes of the buffer lazily.
+   * <p>
+   * The position and limit of the given buffer are not modified. Token offsets are relative to the
+   * position of the buffer. The cursor reads the given buffer, whose bytes must stay unchanged as
+   * long as the cursor is in use.
+   *
+   * @param input the raw Link header field-value as ASCII bytes
+   * @return a cursor positioned on the first token
+   * @throws LexingException      if the first token is not lexically well-formed
+   * @throws NullPointerException if the buffer is {@code null}
+   */
+  @Override
+  public WebLinkTokenCursor cursor(ByteBuffer input) throws LexingException, NullPointerException {
+    return new Scanner(new AsciiByteSequence(input));
+  }
+
+  /**
+   * Creates a cursor over the input string. A cursor of this lexer that is passed in is reset to
+   * the new input and returned, otherwise a new cursor is created.
+   *
+   * @param input    the raw Link header field-value or link-value
+   * @param reusable a cursor that is no longer in use, or {@code null}
+   * @return a cursor positioned on the first token
+   * @throws LexingException if the first token is not lexically well-formed
+   */
+  @Override
+  public WebLinkTokenCursor cursor(String input, WebLinkTokenCursor reusable)
+      throws LexingException {
+    var text = input != null ? input : "";
+    if (reusable instanceof Scanner scanner) {
+      scanner.reset(text);
+      return scanner;
+    }
+    return new Scanner(text);
+  }
+
+  /**
+   * Creates a cursor over the remaining bytes of the buffer. A cursor of this lexer that has been
+   * created for bytes before is reset to the new input and returned, otherwise a new cursor is
+   * created.
+   * <p>
+   * The position and limit of the given buffer are not modified. Token offsets are relative to the
+   * position of the buffer. The cursor reads the given buffer, whose bytes must stay unchanged as
+   * long as the cursor is in use.
+   *
+   * @param input    the raw Link header field-value as ASCII bytes
+   * @param reusable a cursor that is no longer in use, or {@code null}
+   * @return a cursor positioned on the first token
+   * @throws LexingException      if the first token is not lexically well-formed
+   * @throws NullPointerException if the buffer is {@code null}
+   */
+  @Override
+  public WebLinkTokenCursor cursor(ByteBuffer input, WebLinkTokenCursor reusable)
+      throws LexingException, NullPointerException {
+    if (reusable instanceof Scanner scanner && scanner.input instanceof AsciiByteSequence bytes) {
+      bytes.reset(input);
+      scanner.reset(bytes);
+      return scanner;
+    }
+    return cursor(input);
+  }
+
+  /**
+   * The cursors of this lexer scan the input on demand.
+   *
+   * @return always {@code true}
+   */
+  @Override
+  public boolean supportsStreaming() {
+    return true;
+  }
+
+  private static TokenBuffer scan(CharSequence input) {
+    return new Scanner(input).scanInto(new TokenBuffer(input));
   }
 
   /**
    * Internal scanner doing a single left-to-right pass over the input.
+   * <p>
+   * The scanner lexes one token at a time, either on demand as {@link WebLinkTokenCursor} or
+   * eagerly into a {@link TokenBuffer} via {@link #scanInto(TokenBuffer)}. A scanner can be
+   * reused for another input with {@link #reset(CharSequence)}.
    */
-  private static final class Scanner {
+  private static final class Scanner implements WebLinkTokenCursor {
+
+    private CharSequence input;
+    private int length;
+    private int pos;
 
-    private final String input;
-    private final int length;
-    private int pos = 0;
+    // the current token
+    private WebLinkTokenType type;
+    private int start;
+    private int end;
+    private boolean escaped;
 
-    private final List<WebLinkToken> tokens = new ArrayList<>();
+    // the token that is implied by the current one: URI after LT, GT after URI
+    private WebLinkTokenType pending;
 
-    Scanner(String input) {
-      this.input = input != null ? input : "";
-      this.length = this.input.length();
+    Scanner(CharSequence input) {
+      reset(input);
     }
 
-    List<WebLinkToken> scan() {
-      while (!eof()) {
-        char c = peek();
+    /**
+     * Starts over with the given input and scans its first token.
+     */
+    void reset(CharSequence input) {
+      this.input = input;
+      this.length = input.length();
+      this.pos = 0;
+      this.pending = null;
+      scanToken();
+    }
 
-        if (isWhitespace(c)) {
-          consumeWhitespace();
-          continue;
+    /**
+     * Scans the remaining tokens, starting with the current one, into the given buffer.
+     */
+    TokenBuffer scanInto(TokenBuffer tokens) {
+      while (true) {
+        tokens.add(type, start, end, escaped);
+        if (type == WebLinkTokenType.EOF) {
+          return tokens;
         }
+        scanToken();
+      }
+    }
 
-        int start = pos;
-
-        switch (c) {
-          case '<' -> readUri(start);
-          case '>' -> {
-            advance();
-            tokens.add(WebLinkToken.of(WebLinkTokenType.GT, ">", start));
-          }
-          case ';' -> {
-            advance();
-            tokens.add(WebLinkToken.of(WebLinkTokenType.SEMICOLON, ";", start));
-          }
-          case '=' -> {
-            advance();
-            tokens.add(WebLinkToken.of(WebLinkTokenType.EQUALS, "=", start));
-          }
-          case ',' -> {
-            advance();
-            tokens.add(WebLinkToken.of(WebLinkTokenType.COMMA, ",", start));
-          }
-          case '"' -> readQuoted(start);
-          default -> readIdent(start);
-        }
+    @Override
+    public WebLinkTokenType peekType() {
+      return type;
+    }
+
+    @Override
+    public WebLinkTokenType next() {
+      if (type != WebLinkTokenType.EOF) {
+        scanToken();
       }
+      return type;
+    }
+
+    @Override
+    public int startOffset() {
+      return start;
+    }
+
+    @Override
+    public int endOffset() {
+      return end;
+    }
 
-      tokens.add(WebLinkToken.of(WebLinkTokenType.EOF, "", pos));
-      return tokens;
+    @Override
+    public String text() {
+      if (escaped) {
+        return TokenChars.unescape(input, start, end);
+      }
+      return TokenBuffer.text(input, type, start, end);
     }
 
     /**
-     * Reads a URI-Reference between "&lt;" and "&gt;". Emits three tokens: LT, URI, GT.
+     * Scans the next token and makes it the current one.
      */
-    private void readUri(int start) {
-      // consume "<"
-      advance();
-      tokens.add(WebLinkToken.of(WebLinkTokenType.LT, "<", start));
+    private void scanToken() {
+      if (pending != null) {
+        scanPending();
+        return;
+      }
 
-      int uriStart = pos;
+      consumeWhitespace();
 
-      while (!eof()) {
-        char c = peek();
-        if (c == '>') {
-          break;
+      if (eof()) {
+        emit(WebLinkTokenType.EOF, pos, pos);
+        return;
+      }
+
+      int tokenStart = pos;
+
+      switch (peek()) {
+        case '<' -> {
+          advance();
+          emit(WebLinkTokenType.LT, tokenStart, pos);
+          pending = WebLinkTokenType.URI;
+        }
+        case '>' -> {
+          advance();
+          emit(WebLinkTokenType.GT, tokenStart, pos);
+        }
+        case ';' -> {
+          advance();
+          emit(WebLinkTokenType.SEMICOLON, tokenStart, pos);
         }
+        case '=' -> {
+          advance();
+          emit(WebLinkTokenType.EQUALS, tokenStart, pos);
+        }
+        case ',' -> {
+          advance();
+          emit(WebLinkTokenType.COMMA, tokenStart, pos);
+        }
+        case '"' -> readQuoted(tokenStart);
+        default -> readIdent(tokenStart);
+      }
+    }
+
+    private void emit(WebLinkTokenType tokenType, int tokenStart, int tokenEnd) {
+      type = tokenType;
+      start = tokenStart;
+      end = tokenEnd;
+      escaped = false;
+    }
+
+    /**
+     * Continues a URI-Reference between "&lt;" and "&gt;", which is emitted as three tokens: LT,
+     * URI and GT.
+     */
+    private void scanPending() {
+      if (pending == WebLinkTokenType.URI) {
+        readUri();
+      } else {
+        // consume ">"
+        int gtPos = pos;
         advance();
+        emit(WebLinkTokenType.GT, gtPos, pos);
+        pending = null;
       }
+    }
+
+    /**
+     * Reads a URI-Reference after "&lt;" up to the closing "&gt;", which becomes the pending
+     * token.
+     */
+    private void readUri() {
+      int uriStart = pos;
+
+      pos = indexOf('>', pos, length);
 
       if (eof()) {
         throw new LexingException(
-            "Unterminated URI reference: missing '>' for '<' at position " + start);
+            "Unterminated URI reference: missing '>' for '<' at position " + (uriStart - 1),
+            uriStart - 1);
       }
 
-      String uriText = input.substring(uriStart, pos);
-      tokens.add(WebLinkToken.of(WebLinkTokenType.URI, uriText, uriStart));
-
-      // consume ">"
-      int gtPos = pos;
-      advance();
-      tokens.add(WebLinkToken.of(WebLinkTokenType.GT, ">", gtPos));
+      emit(WebLinkTokenType.URI, uriStart, pos);
+      pending = WebLinkTokenType.GT;
     }
 
     /**
-     * Reads a quoted-string, without including the surrounding quotes. Does not yet handle escape
-     * sequences; that can be extended later.
+     * Reads a quoted-string, without including the surrounding quotes.
+     * <p>
+     * Quoted-pairs (RFC 9110, section 5.6.4) are rare, so the closing quote is searched in bulk
+     * first. Only if the content up to that quote contains a backslash, the rest of the string is
+     * scanned character by character and the token is flagged for unescaping. Escape-free values
+     * stay a plain slice of the input.
      */
     private void readQuoted(int start) {
       // consume opening quote
@@ -127,68 +403,95 @@ public final class SimpleWebLinkLexer implements WebLinkLexer {
 
       int contentStart = pos;
 
-      while (!eof()) {
-        char c = peek();
-        if (c == '"') {
-          break;
-        }
-        // TODO: handle quoted-pair / escaping if needed
-        advance();
+      pos = indexOf('"', pos, length);
+      int backslash = indexOf('\\', contentStart, pos);
+      boolean quotedPairs = backslash < pos;
+      if (quotedPairs) {
+        pos = skipQuotedPairs(backslash);
       }
 
       if (eof()) {
         throw new LexingException(
-            "Unterminated quoted-string starting at position " + start);
+            "Unterminated quoted-string starting at position " + start, start);
       }
 
-      String content = input.substring(contentStart, pos);
+      int contentEnd = pos;
 
       // consume closing quote
       advance();
 
-      tokens.add(WebLinkToken.of(WebLinkTokenType.QUOTED, content, contentStart));
+      emit(WebLinkTokenType.QUOTED, contentStart, contentEnd);
+      escaped = quotedPairs;
+    }
+
+    /**
+     * Scans the rest of a quoted-string from the given position, skipping the character after
+     * every backslash.
+     *
+     * @return the position of the closing quote, or the end of input
+     */
+    private int skipQuotedPairs(int from) {
+      int i = from;
+      while (i < length) {
+        char c = input.charAt(i);
+        if (c == '"') {
+          return i;
+        }
+        i += c == '\\' ? 2 : 1;
+      }
+      return length;
     }
 
     /**
-     * Reads an unquoted token (IDENT) until a delimiter or whitespace is reached.
+     * Reads an unquoted token (IDENT) until a delimiter or whitespace is reached. The first
+     * character is known to be neither.
      */
     private void readIdent(int start) {
+      advance();
       while (!eof()) {
+        // tchars are neither delimiters nor whitespace, skip their runs in bulk
+        pos = TokenChars.tokenEnd(input, pos, length);
+        if (eof()) {
+          break;
+        }
         char c = peek();
-        if (isDelimiter(c) || isWhitespace(c)) {
+        if (TokenChars.isDelimiter(c) || TokenChars.isWhitespace(c)) {
           break;
         }
         advance();
       }
 
-      String text = input.substring(start, pos);
-      if (!text.isEmpty()) {
-        tokens.add(WebLinkToken.of(WebLinkTokenType.IDENT, text, start));
+      emit(WebLinkTokenType.IDENT, start, pos);
+    }
+
+    /**
+     * Returns the position of the next occurrence of the given character in the range, or the end
+     * of the range.
+     * <p>
+     * Long URIs and quoted-strings are skipped in bulk: strings use the intrinsified
+     * {@link String#indexOf(int, int, int)}, raw bytes use {@link DelimiterScanner#detect()}.
+     */
+    private int indexOf(char c, int from, int to) {
+      int found;
+      if (input instanceof String text) {
+        found = text.indexOf(c, from, to);
+      } else if (input instanceof AsciiByteSequence bytes) {
+        found = bytes.indexOf(c, from, to);
+      } else {
+        found = from;
+        while (found < to && input.charAt(found) != c) {
+          found++;
+        }
       }
+      return found < 0 ? to : found;
     }
 
     private void consumeWhitespace() {
-      while (!eof() && isWhitespace(peek())) {
+      while (!eof() && TokenChars.isWhitespace(peek())) {
         advance();
       }
     }
 
-    private boolean isWhitespace(char c) {
-      // OWS/BWS: space or horizontal tab are most important;
-      // here we also accept CR/LF defensively.
-      return c == ' ' || c == '\t' || c == '\r' || c == '\n';
-    }
-
-    /**
-     * Characters that delimit IDENT tokens.
-     */
-    private boolean isDelimiter(char c) {
-      return switch (c) {
-        case '<', '>', ';', '=', ',', '"' -> true;
-        default -> false;
-      };
-    }
-
     private boolean eof() {
       return pos >= length;
     }
@@ -0,0 +1,287 @@
+package life.qbic.linksmith.internal.lexing;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import life.qbic.linksmith.spi.OrderedTokenList;
+
+/**
+ * Compact, offset-based token storage for lexer output.
+ * <p>
+ * Instead of allocating one {@link WebLinkToken} per token, the buffer records the token type and
+ * the start and end offset into the lexed source in primitive arrays. The token text is only
+ * created when a consumer asks for it via {@link #text(int)}, so tokens whose text is never read
+ * (delimiters, EOF) do not cost any allocation.
+ * <p>
+ * Offsets follow the {@link WebLinkToken#position()} convention: for URI and QUOTED tokens the
+ * span covers the content only, without the surrounding angle brackets or quotes.
+ * <p>
+ * QUOTED tokens that contain quoted-pairs (backslash escapes) are flagged as escaped. Only their
+ * text is unescaped into a copy, the text of all other tokens is a plain slice of the source.
+ * <p>
+ * Clients that work with the {@code List<WebLinkToken>} API can use {@link #asTokenList()}, which
+ * is a read-only adapter over this buffer.
+ * <p>
+ * A buffer can be reused for another source with {@link #reset(CharSequence)}, which keeps the
+ * grown capacity.
+ * <p>
+ * Note: the implementation of this class is NOT thread-safe.
+ */
+public final class TokenBuffer {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private static final WebLinkTokenType[] TYPES = WebLinkTokenType.values();
+
+  // flag in the type byte for QUOTED tokens that contain quoted-pairs
+  private static final int ESCAPED = 0x40;
+  private static final int TYPE_MASK = 0x3F;
+
+  private CharSequence source;
+
+  private byte[] types;
+  private int[] starts;
+  private int[] ends;
+  private int size = 0;
+
+  /**
+   * Creates a new, empty token buffer for the given source.
+   *
+   * @param source the character sequence the token offsets refer to
+   * @throws NullPointerException if the source is {@code null}
+   */
+  public TokenBuffer(CharSequence source) throws NullPointerException {
+    this.source = Objects.requireNonNull(source);
+    this.types = new byte[DEFAULT_CAPACITY];
+    this.starts = new int[DEFAULT_CAPACITY];
+    this.ends = new int[DEFAULT_CAPACITY];
+  }
+
+  /**
+   * Removes all tokens and points the buffer to a new source. The capacity of the buffer is kept,
+   * so lexing a source of similar size into it does not allocate.
+   * <p>
+   * Token lists created by {@link #asTokenList()} before the reset must not be used afterwards.
+   *
+   * @param source the character sequence the token offsets refer to
+   * @throws NullPointerException if the source is {@code null}
+   */
+  public void reset(CharSequence source) throws NullPointerException {
+    this.source = Objects.requireNonNull(source);
+    this.size = 0;
+  }
+
+  /**
+   * Appends a token to the buffer.
+   *
+   * @param type  the token type
+   * @param start the zero-based start offset of the token text (inclusive)
+   * @param end   the zero-based end offset of the token text (exclusive)
+   */
+  void add(WebLinkTokenType type, int start, int end) {
+    add(type, start, end, false);
+  }
+
+  /**
+   * Appends a token to the buffer.
+   *
+   * @param type    the token type
+   * @param start   the zero-based start offset of the token text (inclusive)
+   * @param end     the zero-based end offset of the token text (exclusive)
+   * @param escaped whether the token text contains quoted-pairs that need to be unescaped
+   */
+  void add(WebLinkTokenType type, int start, int end, boolean escaped) {
+    if (size == types.length) {
+      grow();
+    }
+    types[size] = (byte) (escaped ? type.ordinal() | ESCAPED : type.ordinal());
+    starts[size] = start;
+    ends[size] = end;
+    size++;
+  }
+
+  private void grow() {
+    int newCapacity = types.length << 1;
+    types = Arrays.copyOf(types, newCapacity);
+    starts = Arrays.copyOf(starts, newCapacity);
+    ends = Arrays.copyOf(ends, newCapacity);
+  }
+
+  /**
+   * Returns the source the token offsets refer to.
+   *
+   * @return the lexed source
+   */
+  public CharSequence source() {
+    return source;
+  }
+
+  /**
+   * Returns the number of tokens in the buffer, including the EOF token.
+   *
+   * @return the number of tokens
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the type of the token at the given index.
+   *
+   * @param index the token index
+   * @return the token type
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public WebLinkTokenType type(int index) throws IndexOutOfBoundsException {
+    return TYPES[types[Objects.checkIndex(index, size)] & TYPE_MASK];
+  }
+
+  /**
+   * Returns whether the token at the given index contains quoted-pairs, in which case its text
+   * differs from the source span.
+   *
+   * @param index the token index
+   * @return {@code true} if the token text is unescaped from the source span
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public boolean escaped(int index) throws IndexOutOfBoundsException {
+    return (types[Objects.checkIndex(index, size)] & ESCAPED) != 0;
+  }
+
+  /**
+   * Returns the start offset (inclusive) of the token at the given index.
+   *
+   * @param index the token index
+   * @return the start offset in the source
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public int start(int index) throws IndexOutOfBoundsException {
+    return starts[Objects.checkIndex(index, size)];
+  }
+
+  /**
+   * Returns the end offset (exclusive) of the token at the given index.
+   *
+   * @param index the token index
+   * @return the end offset in the source
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public int end(int index) throws IndexOutOfBoundsException {
+    return ends[Objects.checkIndex(index, size)];
+  }
+
+  /**
+   * Creates the text of the token at the given index.
+   * <p>
+   * Delimiter tokens and EOF return shared constants, only URI, IDENT and QUOTED tokens create a
+   * new string from the source. Quoted-pairs in QUOTED tokens are unescaped.
+   *
+   * @param index the token index
+   * @return the token text (without decorations like quotes)
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public String text(int index) throws IndexOutOfBoundsException {
+    if (escaped(index)) {
+      return TokenChars.unescape(source, starts[index], ends[index]);
+    }
+    return text(source, type(index), starts[index], ends[index]);
+  }
+
+  /**
+   * Creates the text of a token span in the given source.
+   *
+   * @param source the lexed source
+   * @param type   the token type
+   * @param start  the start offset of the token text
+   * @param end    the end offset of the token text
+   * @return the token text (without decorations like quotes)
+   */
+  static String text(CharSequence source, WebLinkTokenType type, int start, int end) {
+    return switch (type) {
+      case LT -> "<";
+      case GT -> ">";
+      case SEMICOLON -> ";";
+      case EQUALS -> "=";
+      case COMMA -> ",";
+      case EOF -> "";
+      case URI, IDENT, QUOTED -> source.subSequence(start, end).toString();
+    };
+  }
+
+  /**
+   * Creates a {@link WebLinkToken} for the token at the given index.
+   *
+   * @param index the token index
+   * @return a new token object
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public WebLinkToken token(int index) throws IndexOutOfBoundsException {
+    return WebLinkToken.of(type(index), text(index), starts[index]);
+  }
+
+  /**
+   * Returns a read-only {@code List<WebLinkToken>} view of this buffer.
+   * <p>
+   * Token objects are created lazily on first access and reused on subsequent accesses. Lexers
+   * record their tokens in input order, so the view is an {@link OrderedTokenList}.
+   *
+   * @return a list view of the buffered tokens
+   */
+  public OrderedTokenList asTokenList() {
+    return new TokenListView(this);
+  }
+
+  /**
+   * Returns a read-only {@code List<WebLinkToken>} copy of this buffer.
+   * <p>
+   * In contrast to {@link #asTokenList()}, all token objects and their text are created right
+   * away, so the list does not refer to the source anymore. Lexers use it for sources the caller
+   * may change after lexing, e.g. reused byte buffers.
+   *
+   * @return a list of the buffered tokens, independent of the source
+   */
+  public OrderedTokenList toTokenList() {
+    var tokens = new WebLinkToken[size];
+    for (int i = 0; i < size; i++) {
+      tokens[i] = token(i);
+    }
+    return new TokenListView(tokens);
+  }
+
+  /**
+   * Read-only list adapter that materialises {@link WebLinkToken} objects on demand.
+   */
+  private static final class TokenListView extends AbstractList<WebLinkToken> implements
+      OrderedTokenList, RandomAccess {
+
+    private final TokenBuffer buffer;
+    private final WebLinkToken[] materialised;
+
+    TokenListView(TokenBuffer buffer) {
+      this.buffer = buffer;
+      this.materialised = new WebLinkToken[buffer.size()];
+    }
+
+    TokenListView(WebLinkToken[] tokens) {
+      this.buffer = null;
+      this.materialised = tokens;
+    }
+
+    @Override
+    public WebLinkToken get(int index) {
+      var token = materialised[Objects.checkIndex(index, materialised.length)];
+      if (token == null) {
+        token = buffer.token(index);
+        materialised[index] = token;
+      }
+      return token;
+    }
+
+    @Override
+    public int size() {
+      return materialised.length;
+    }
+  }
+}
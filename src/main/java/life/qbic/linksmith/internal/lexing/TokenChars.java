@@ -0,0 +1,149 @@
+package life.qbic.linksmith.internal.lexing;
+
+/**
+ * Character class of the {@code token} production, without regular expressions.
+ * <p>
+ * Defined in <a href="https://www.rfc-editor.org/rfc/rfc7230">RFC 7230</a>, section 3.2.6:
+ *
+ * <pre>
+ * {@code
+ * token = 1*tchar
+ * tchar = "!" / "#" / "$" / "%" / "&" / "'" / "*" / "+" / "-" / "." / "^" / "_" / "`" / "|" / "~"
+ *       / DIGIT / ALPHA
+ * }
+ * </pre>
+ * <p>
+ * The 128 US-ASCII characters are looked up in a precomputed bitmap of two {@code long} words.
+ * Spans can be checked by their offsets, so no substrings need to be created.
+ * <p>
+ * The class also holds the other character rules that all lexers and parsers of the Link header
+ * share: whitespace, the delimiters of unquoted tokens and the resolution of quoted-pairs.
+ */
+public final class TokenChars {
+
+  /**
+   * The allowed characters in the order of the grammar, for messages.
+   */
+  public static final String TCHARS =
+      "!#$%&'*+-.^_`|~0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+  // bit c is set for the tchar c, characters 0 to 63
+  private static final long LOW = mask(0);
+  // bit c - 64 is set for the tchar c, characters 64 to 127
+  private static final long HIGH = mask(64);
+
+  private TokenChars() {}
+
+  private static long mask(int offset) {
+    long mask = 0L;
+    for (int i = 0; i < TCHARS.length(); i++) {
+      int c = TCHARS.charAt(i) - offset;
+      if (c >= 0 && c < 64) {
+        mask |= 1L << c;
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * Evaluates if a character is a {@code tchar}.
+   *
+   * @param c the character to check
+   * @return {@code true}, if the character is allowed in a token, else {@code false}
+   */
+  public static boolean isTokenChar(char c) {
+    // the shift only uses the lower 6 bits of c
+    return c < 64 ? (LOW & (1L << c)) != 0 : c < 128 && (HIGH & (1L << c)) != 0;
+  }
+
+  /**
+   * Returns the end of the run of {@code tchar}s starting at the given position.
+   *
+   * @param text the text to scan
+   * @param from the position to start at, inclusive
+   * @param to   the position to stop at, exclusive
+   * @return the position of the first character in the range that is no {@code tchar}, or
+   * {@code to} if there is none
+   */
+  public static int tokenEnd(CharSequence text, int from, int to) {
+    int i = from;
+    while (i < to && isTokenChar(text.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Evaluates if a span of the text is a {@code token}: not empty and only {@code tchar}s.
+   *
+   * @param text  the text the span refers to
+   * @param start the start of the span, inclusive
+   * @param end   the end of the span, exclusive
+   * @return {@code true}, if the span is a token, else {@code false}
+   */
+  public static boolean isToken(CharSequence text, int start, int end) {
+    return start < end && tokenEnd(text, start, end) == end;
+  }
+
+  /**
+   * Evaluates if a text is a {@code token}: not empty and only {@code tchar}s.
+   *
+   * @param text the text to check
+   * @return {@code true}, if the text is a token, else {@code false}
+   */
+  public static boolean isToken(CharSequence text) {
+    return isToken(text, 0, text.length());
+  }
+
+  /**
+   * Evaluates if a character is whitespace between tokens. Next to space and horizontal tab of
+   * {@code OWS} and {@code BWS}, CR and LF are accepted defensively.
+   *
+   * @param c the character to check
+   * @return {@code true}, if the character is whitespace, else {@code false}
+   */
+  public static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+  }
+
+  /**
+   * Evaluates if a character delimits an unquoted token (IDENT).
+   *
+   * @param c the character to check
+   * @return {@code true}, if the character is one of {@code < > ; = , "}, else {@code false}
+   */
+  public static boolean isDelimiter(char c) {
+    return switch (c) {
+      case '<', '>', ';', '=', ',', '"' -> true;
+      default -> false;
+    };
+  }
+
+  /**
+   * Returns the content of a quoted-string with every quoted-pair {@code "\" char} replaced by the
+   * escaped character. Content without quoted-pairs is returned as it is.
+   *
+   * @param text  the text the content is part of
+   * @param start the start of the content, inclusive, after the opening quote
+   * @param end   the end of the content, exclusive, at the closing quote
+   * @return the unescaped content
+   */
+  public static String unescape(CharSequence text, int start, int end) {
+    int i = start;
+    while (i < end && text.charAt(i) != '\\') {
+      i++;
+    }
+    if (i == end) {
+      return text.subSequence(start, end).toString();
+    }
+    var unescaped = new StringBuilder(end - start).append(text, start, i);
+    for (; i < end; i++) {
+      char c = text.charAt(i);
+      if (c == '\\' && i + 1 < end) {
+        c = text.charAt(++i);
+      }
+      unescaped.append(c);
+    }
+    return unescaped.toString();
+  }
+}
@@ -0,0 +1,74 @@
+package life.qbic.linksmith.internal.lexing;
+
+import java.util.List;
+import java.util.Objects;
+import life.qbic.linksmith.spi.WebLinkTokenCursor;
+
+/**
+ * {@link WebLinkTokenCursor} over an already materialised token list.
+ * <p>
+ * Tokens do not carry their end offset, so {@link #endOffset()} is derived from the text length.
+ * For QUOTED tokens with quoted-pairs the text is shorter than the source span, and the derived
+ * end offset lies before the actual one.
+ * <p>
+ * Note: the implementation of this class is NOT thread-safe.
+ */
+public final class TokenListCursor implements WebLinkTokenCursor {
+
+  private final List<WebLinkToken> tokens;
+
+  private int index = 0;
+
+  /**
+   * Creates a cursor positioned on the first token of the given list.
+   *
+   * @param tokens the tokens in ascending order by position, ending with an EOF token
+   * @throws NullPointerException     if the token list is {@code null}
+   * @throws IllegalArgumentException if the token list is empty
+   */
+  public TokenListCursor(List<WebLinkToken> tokens)
+      throws NullPointerException, IllegalArgumentException {
+    this.tokens = Objects.requireNonNull(tokens);
+    if (tokens.isEmpty()) {
+      throw new IllegalArgumentException("A token cursor needs at least an EOF token");
+    }
+  }
+
+  @Override
+  public WebLinkTokenType peekType() {
+    return current().type();
+  }
+
+  @Override
+  public WebLinkTokenType next() {
+    if (index < tokens.size() - 1) {
+      index++;
+    }
+    return peekType();
+  }
+
+  @Override
+  public int startOffset() {
+    return current().position();
+  }
+
+  @Override
+  public int endOffset() {
+    var token = current();
+    return switch (token.type()) {
+      // URI, IDENT and QUOTED carry their content as text, delimiters span a single character
+      case URI, IDENT, QUOTED -> token.position() + token.text().length();
+      case EOF -> token.position();
+      default -> token.position() + 1;
+    };
+  }
+
+  @Override
+  public String text() {
+    return current().text();
+  }
+
+  private WebLinkToken current() {
+    return tokens.get(index);
+  }
+}
@@ -0,0 +1,215 @@
+package life.qbic.linksmith.internal.parsing;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import life.qbic.linksmith.internal.lexing.TokenChars;
+
+/**
+ * Compact form of a {@link RawLinkHeader}, created by {@link DirectWebLinkParser#parseCompact}.
+ * <p>
+ * Instead of one object per link and parameter, the header keeps the source text and refers to
+ * the targets, parameter names and values by their positions in flat arrays. Links are addressed
+ * by their index in header order, parameters by their index within the link:
+ *
+ * <pre>
+ *   {@code
+ *   for (int link = 0; link < header.linkCount(); link++) {
+ *     String target = header.uri(link);
+ *     for (int param = 0; param < header.parameterCount(link); param++) {
+ *       String name = header.parameterName(link, param);
+ *       String value = header.parameterValue(link, param);
+ *     }
+ *   }
+ *   }
+ * </pre>
+ * <p>
+ * Text is only extracted from the source when asked for. The record-based {@link RawLinkHeader}
+ * is created on the first call of {@link #toRawLinkHeader()} and kept for later calls.
+ */
+public final class CompactRawLinkHeader {
+
+  private final String source;
+  private final int linkCount;
+  // start and end of the URI-Reference of every link
+  private final int[] uriSpans;
+  // index of the first parameter of every link, followed by the total number of parameters
+  private final int[] firstParameter;
+  // start and end of name and value of every parameter, the value span is -1 without value
+  private final int[] parameterSpans;
+  // parameters with a quoted-string value that contains quoted-pairs
+  private final BitSet escapedValues;
+  // parameters with a value that was serialised as unquoted token
+  private final BitSet tokenValues;
+  private final List<SkippedLinkValue> skipped;
+
+  private RawLinkHeader view;
+
+  CompactRawLinkHeader(String source, int linkCount, int[] uriSpans, int[] firstParameter,
+      int[] parameterSpans, BitSet escapedValues, BitSet tokenValues,
+      List<SkippedLinkValue> skipped) {
+    this.source = source;
+    this.linkCount = linkCount;
+    this.uriSpans = uriSpans;
+    this.firstParameter = firstParameter;
+    this.parameterSpans = parameterSpans;
+    this.escapedValues = escapedValues;
+    this.tokenValues = tokenValues;
+    this.skipped = List.copyOf(skipped);
+  }
+
+  /**
+   * Returns the Link header field-value the positions refer to.
+   *
+   * @return the source text
+   */
+  public String source() {
+    return source;
+  }
+
+  public int linkCount() {
+    return linkCount;
+  }
+
+  /**
+   * Returns the malformed link-values a recovering parser skipped, see
+   * {@link RawLinkHeader#skipped()}.
+   *
+   * @return the skipped link-values in header order
+   */
+  public List<SkippedLinkValue> skipped() {
+    return skipped;
+  }
+
+  public int uriStart(int link) {
+    return uriSpans[2 * Objects.checkIndex(link, linkCount)];
+  }
+
+  public int uriEnd(int link) {
+    return uriSpans[2 * Objects.checkIndex(link, linkCount) + 1];
+  }
+
+  /**
+   * Returns the raw URI-Reference of a link, same as {@link RawLink#rawURI()}.
+   *
+   * @param link the index of the link
+   * @return the raw target of the link
+   */
+  public String uri(int link) {
+    return source.substring(uriStart(link), uriEnd(link));
+  }
+
+  public int parameterCount(int link) {
+    Objects.checkIndex(link, linkCount);
+    return firstParameter[link + 1] - firstParameter[link];
+  }
+
+  public int parameterNameStart(int link, int parameter) {
+    return parameterSpans[4 * parameterIndex(link, parameter)];
+  }
+
+  public int parameterNameEnd(int link, int parameter) {
+    return parameterSpans[4 * parameterIndex(link, parameter) + 1];
+  }
+
+  public String parameterName(int link, int parameter) {
+    int offset = 4 * parameterIndex(link, parameter);
+    return source.substring(parameterSpans[offset], parameterSpans[offset + 1]);
+  }
+
+  /**
+   * Evaluates if a parameter has a value, including an empty one.
+   *
+   * @param link      the index of the link
+   * @param parameter the index of the parameter within the link
+   * @return {@code true}, if the parameter has a value, else {@code false}
+   */
+  public boolean hasValue(int link, int parameter) {
+    return parameterSpans[4 * parameterIndex(link, parameter) + 2] >= 0;
+  }
+
+  /**
+   * Evaluates if the value of a parameter was serialised as unquoted {@code token}, see
+   * {@link RawParam#token()}.
+   *
+   * @param link      the index of the link
+   * @param parameter the index of the parameter within the link
+   * @return {@code true}, if the parameter has an unquoted value, else {@code false}
+   */
+  public boolean hasTokenValue(int link, int parameter) {
+    return tokenValues.get(parameterIndex(link, parameter));
+  }
+
+  /**
+   * Returns the start of the value of a parameter, without the opening quote of a quoted-string.
+   *
+   * @param link      the index of the link
+   * @param parameter the index of the parameter within the link
+   * @return the start of the value, or -1 if the parameter has no value
+   */
+  public int parameterValueStart(int link, int parameter) {
+    return parameterSpans[4 * parameterIndex(link, parameter) + 2];
+  }
+
+  /**
+   * Returns the end of the value of a parameter, without the closing quote of a quoted-string.
+   *
+   * @param link      the index of the link
+   * @param parameter the index of the parameter within the link
+   * @return the end of the value, or -1 if the parameter has no value
+   */
+  public int parameterValueEnd(int link, int parameter) {
+    return parameterSpans[4 * parameterIndex(link, parameter) + 3];
+  }
+
+  /**
+   * Returns the value of a parameter, same as {@link RawParam#value()}: unquoted and with
+   * quoted-pairs resolved.
+   *
+   * @param link      the index of the link
+   * @param parameter the index of the parameter within the link
+   * @return the value of the parameter, or {@code null} if the parameter has no value
+   */
+  public String parameterValue(int link, int parameter) {
+    int index = parameterIndex(link, parameter);
+    int start = parameterSpans[4 * index + 2];
+    if (start < 0) {
+      return null;
+    }
+    int end = parameterSpans[4 * index + 3];
+    if (!escapedValues.get(index)) {
+      return source.substring(start, end);
+    }
+    return TokenChars.unescape(source, start, end);
+  }
+
+  /**
+   * Returns the record-based view of this header, creating it on the first call.
+   *
+   * @return the raw link header with the same links and skipped link-values
+   */
+  public RawLinkHeader toRawLinkHeader() {
+    var rawLinkHeader = view;
+    if (rawLinkHeader == null) {
+      var rawLinks = new ArrayList<RawLink>(linkCount);
+      for (int link = 0; link < linkCount; link++) {
+        int parameterCount = parameterCount(link);
+        var rawParams = new ArrayList<RawParam>(parameterCount);
+        for (int parameter = 0; parameter < parameterCount; parameter++) {
+          rawParams.add(new RawParam(parameterName(link, parameter),
+              parameterValue(link, parameter), hasTokenValue(link, parameter)));
+        }
+        rawLinks.add(new RawLink(uri(link), rawParams));
+      }
+      // the view is immutable, so a racing thread at most creates an equal one
+      rawLinkHeader = new RawLinkHeader(rawLinks, skipped);
+      view = rawLinkHeader;
+    }
+    return rawLinkHeader;
+  }
+
+  private int parameterIndex(int link, int parameter) {
+    return firstParameter[link] + Objects.checkIndex(parameter, parameterCount(link));
+  }
+}
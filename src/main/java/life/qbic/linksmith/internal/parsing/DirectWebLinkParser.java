@@ -0,0 +1,828 @@
+package life.qbic.linksmith.internal.parsing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import life.qbic.linksmith.internal.lexing.SimpleWebLinkLexer;
+import life.qbic.linksmith.internal.lexing.TokenChars;
+import life.qbic.linksmith.internal.lexing.WebLinkToken;
+import life.qbic.linksmith.internal.lexing.WebLinkTokenType;
+import life.qbic.linksmith.spi.WebLinkHandler;
+import life.qbic.linksmith.spi.WebLinkLexer.LexingException;
+import life.qbic.linksmith.spi.WebLinkParser.StructureException;
+
+/**
+ * Single-pass parser that goes straight from a Link header string to a {@link RawLinkHeader}.
+ * <p>
+ * The parser recognises the {@code link-value} and {@code link-param} productions of RFC 8288
+ * section 3 while scanning the characters, and creates {@link RawLink} and {@link RawParam}
+ * objects directly. No {@link WebLinkToken} objects are created, token text is only extracted for
+ * targets, parameter names and values.
+ * <p>
+ * Consumers that do not need the {@link RawLinkHeader} can receive the links as events with
+ * {@link #parse(String, WebLinkHandler)}, in which case no text is extracted at all, apart from
+ * quoted-strings with quoted-pairs.
+ * <p>
+ * The result and the reported errors are the same as for {@link SimpleWebLinkLexer} combined with
+ * {@link SimpleWebLinkParser}: lexical errors are thrown as {@link LexingException}, structural
+ * errors as {@link StructureException}, both with the same messages.
+ * <p>
+ * A parser created with {@link #createRecovering()} skips malformed link-values like
+ * {@link SimpleWebLinkParser#createRecovering()}.
+ * <p>
+ * The parser is stateless and can be shared by concurrent threads. Callers that parse many
+ * headers in a row can pass {@link Scratch} buffers to
+ * {@link #parseCompact(String, TokenObserver, Scratch)}, so the parse state and the arrays of the
+ * compact header are not allocated for every header.
+ *
+ * <pre>
+ * {@code
+ * Link =
+ *  #link-value link-value = "<" URI-Reference ">" *( OWS ";" OWS link-param )
+ * link-param =
+ *  token BWS [ "=" BWS ( token / quoted-string ) ]
+ * }
+ * </pre>
+ */
+public final class DirectWebLinkParser {
+
+  /**
+   * Receives every token the parser recognises, in ascending order by position, including the
+   * final EOF token. Observers can abort parsing by throwing an exception.
+   */
+  @FunctionalInterface
+  public interface TokenObserver {
+
+    /**
+     * Called when a token has been recognised.
+     *
+     * @param type     the token type
+     * @param position the zero-based start offset of the token, same as
+     *                 {@link WebLinkToken#position()}
+     */
+    void onToken(WebLinkTokenType type, int position);
+  }
+
+  private static final TokenObserver NO_OBSERVER = (type, position) -> {
+  };
+
+  // marks the end of input, outside the range of char
+  private static final int EOF = -1;
+
+  private final boolean recovering;
+
+  /**
+   * Scratch buffers of a parse call, for reuse by consecutive calls of
+   * {@link #parseCompact(String, TokenObserver, Scratch)}.
+   * <p>
+   * A {@link CompactRawLinkHeader} parsed with scratch buffers refers to their arrays, so it must
+   * not be used anymore once the buffers are passed to the next call. Buffers must not be used by
+   * more than one thread at a time, but can be shared by parsers.
+   */
+  public static final class Scratch {
+
+    private final Run run = new Run();
+    private final CompactCollector collector = new CompactCollector();
+
+    private Scratch() {}
+
+    /**
+     * Creates new, empty scratch buffers.
+     *
+     * @return the scratch buffers
+     */
+    public static Scratch create() {
+      return new Scratch();
+    }
+  }
+
+  private DirectWebLinkParser(boolean recovering) {
+    this.recovering = recovering;
+  }
+
+  /**
+   * Creates a new DirectWebLinkParser object instance.
+   *
+   * @return the new DirectWebLinkParser
+   */
+  public static DirectWebLinkParser create() {
+    return new DirectWebLinkParser(false);
+  }
+
+  /**
+   * Creates a new DirectWebLinkParser object instance that skips malformed link-values, with the
+   * same result as {@link SimpleWebLinkParser#createRecovering()}.
+   * <p>
+   * Handlers receive the {@link WebLinkHandler#startLink(CharSequence)} and parameters of a
+   * link-value before it is known to be malformed. A skipped link-value is not ended with
+   * {@link WebLinkHandler#endLink()}, the next event starts the next link.
+   *
+   * @return the new recovering DirectWebLinkParser
+   */
+  public static DirectWebLinkParser createRecovering() {
+    return new DirectWebLinkParser(true);
+  }
+
+  /**
+   * Parses a raw Link header field-value to a raw link header value. The parser only performs
+   * structural validation, not semantic validation.
+   *
+   * @param input the raw Link header field-value, {@code null} is treated as empty input
+   * @return a raw web link header, structurally validated against RFC 8288
+   * @throws LexingException    if the input is not lexically well-formed
+   * @throws StructureException if the input violates the structure of a valid web link
+   */
+  public RawLinkHeader parse(String input) throws LexingException, StructureException {
+    return parse(input, NO_OBSERVER);
+  }
+
+  /**
+   * Parses a raw Link header field-value to a raw link header value and reports every recognised
+   * token to the given observer.
+   *
+   * @param input    the raw Link header field-value, {@code null} is treated as empty input
+   * @param observer the observer to notify for every token
+   * @return a raw web link header, structurally validated against RFC 8288
+   * @throws LexingException      if the input is not lexically well-formed
+   * @throws StructureException   if the input violates the structure of a valid web link
+   * @throws NullPointerException if the observer is {@code null}
+   */
+  public RawLinkHeader parse(String input, TokenObserver observer)
+      throws LexingException, StructureException, NullPointerException {
+    var collector = new RawLinkCollector();
+    var skipped = run(input, collector, observer);
+    return new RawLinkHeader(collector.links, skipped);
+  }
+
+  /**
+   * Parses a raw Link header field-value to the compact form of a raw link header, which refers
+   * to the links and parameters by their positions in the input instead of creating objects for
+   * them.
+   *
+   * @param input    the raw Link header field-value, {@code null} is treated as empty input
+   * @param observer the observer to notify for every token
+   * @return a compact raw web link header, structurally validated against RFC 8288
+   * @throws LexingException      if the input is not lexically well-formed
+   * @throws StructureException   if the input violates the structure of a valid web link
+   * @throws NullPointerException if the observer is {@code null}
+   */
+  public CompactRawLinkHeader parseCompact(String input, TokenObserver observer)
+      throws LexingException, StructureException, NullPointerException {
+    return parseCompact(new Run(), new CompactCollector(), input, observer);
+  }
+
+  /**
+   * Parses a raw Link header field-value to the compact form of a raw link header like
+   * {@link #parseCompact(String, TokenObserver)}, reusing the given scratch buffers.
+   * <p>
+   * The returned header is only valid until the buffers are used again.
+   *
+   * @param input    the raw Link header field-value, {@code null} is treated as empty input
+   * @param observer the observer to notify for every token
+   * @param scratch  the scratch buffers to reuse
+   * @return a compact raw web link header, structurally validated against RFC 8288
+   * @throws LexingException      if the input is not lexically well-formed
+   * @throws StructureException   if the input violates the structure of a valid web link
+   * @throws NullPointerException if the observer or the scratch buffers are {@code null}
+   */
+  public CompactRawLinkHeader parseCompact(String input, TokenObserver observer, Scratch scratch)
+      throws LexingException, StructureException, NullPointerException {
+    return parseCompact(scratch.run, scratch.collector, input, observer);
+  }
+
+  /**
+   * Parses a raw Link header field-value to the compact form of a raw link header, reusing the
+   * given scratch buffers, see {@link #parseCompact(String, TokenObserver, Scratch)}.
+   *
+   * @param input   the raw Link header field-value, {@code null} is treated as empty input
+   * @param scratch the scratch buffers to reuse
+   * @return a compact raw web link header, structurally validated against RFC 8288
+   * @throws LexingException      if the input is not lexically well-formed
+   * @throws StructureException   if the input violates the structure of a valid web link
+   * @throws NullPointerException if the scratch buffers are {@code null}
+   */
+  public CompactRawLinkHeader parseCompact(String input, Scratch scratch)
+      throws LexingException, StructureException, NullPointerException {
+    return parseCompact(input, NO_OBSERVER, scratch);
+  }
+
+  private CompactRawLinkHeader parseCompact(Run run, CompactCollector collector, String input,
+      TokenObserver observer) {
+    var source = input != null ? input : "";
+    var skipped = run(run, source, collector.reset(source), observer);
+    return collector.header(skipped);
+  }
+
+  /**
+   * Parses a raw Link header field-value to the compact form of a raw link header, see
+   * {@link #parseCompact(String, TokenObserver)}.
+   *
+   * @param input the raw Link header field-value, {@code null} is treated as empty input
+   * @return a compact raw web link header, structurally validated against RFC 8288
+   * @throws LexingException    if the input is not lexically well-formed
+   * @throws StructureException if the input violates the structure of a valid web link
+   */
+  public CompactRawLinkHeader parseCompact(String input)
+      throws LexingException, StructureException {
+    return parseCompact(input, NO_OBSERVER);
+  }
+
+  /**
+   * Parses a raw Link header field-value and pushes the links to the given handler while
+   * scanning.
+   *
+   * @param input   the raw Link header field-value, {@code null} is treated as empty input
+   * @param handler the handler to receive the links
+   * @throws LexingException      if the input is not lexically well-formed
+   * @throws StructureException   if the input violates the structure of a valid web link
+   * @throws NullPointerException if the handler is {@code null}
+   */
+  public void parse(String input, WebLinkHandler handler)
+      throws LexingException, StructureException, NullPointerException {
+    parse(input, handler, NO_OBSERVER);
+  }
+
+  /**
+   * Parses a raw Link header field-value, pushes the links to the given handler and reports every
+   * recognised token to the given observer.
+   *
+   * @param input    the raw Link header field-value, {@code null} is treated as empty input
+   * @param handler  the handler to receive the links
+   * @param observer the observer to notify for every token
+   * @throws LexingException      if the input is not lexically well-formed
+   * @throws StructureException   if the input violates the structure of a valid web link
+   * @throws NullPointerException if the handler or observer is {@code null}
+   */
+  public void parse(String input, WebLinkHandler handler, TokenObserver observer)
+      throws LexingException, StructureException, NullPointerException {
+    run(input, handler, observer);
+  }
+
+  private List<SkippedLinkValue> run(String input, WebLinkHandler handler,
+      TokenObserver observer) {
+    return run(new Run(), input, handler, observer);
+  }
+
+  private List<SkippedLinkValue> run(Run run, String input, WebLinkHandler handler,
+      TokenObserver observer) {
+    return run.reset(input != null ? input : "", Objects.requireNonNull(handler),
+        Objects.requireNonNull(observer), recovering).parseHeader();
+  }
+
+  /**
+   * Creates a raw parameter from the arguments of a {@link WebLinkHandler#param} event.
+   * <p>
+   * For the events of this parser, the parameter keeps whether its value was serialised as
+   * unquoted token. Values of other sources are taken as quoted-strings.
+   *
+   * @param name  the raw parameter name
+   * @param value the raw parameter value, or {@code null} if the parameter has no value
+   * @return a raw parameter with copies of name and value
+   */
+  public static RawParam rawParam(CharSequence name, CharSequence value) {
+    if (value == null) {
+      return RawParam.emptyParameter(name.toString());
+    }
+    if (value instanceof InputSpan span && !span.quoted) {
+      return RawParam.withTokenValue(name.toString(), value.toString());
+    }
+    return RawParam.withValue(name.toString(), value.toString());
+  }
+
+  /**
+   * Collects the events of a parse run into raw links.
+   */
+  private static final class RawLinkCollector implements WebLinkHandler {
+
+    private final List<RawLink> links = new ArrayList<>();
+
+    private String uri;
+    private List<RawParam> parameters;
+
+    @Override
+    public void startLink(CharSequence uri) {
+      this.uri = uri.toString();
+      this.parameters = new ArrayList<>();
+    }
+
+    @Override
+    public void param(CharSequence name, CharSequence value) {
+      parameters.add(rawParam(name, value));
+    }
+
+    @Override
+    public void endLink() {
+      links.add(new RawLink(uri, parameters));
+    }
+  }
+
+  /**
+   * Reusable read-only view on a span of the input. Spans of quoted-strings with quoted-pairs are
+   * unescaped on first access.
+   */
+  private static final class InputSpan implements CharSequence {
+
+    private String input;
+    private int start;
+    private int end;
+    private boolean quoted;
+    private boolean escaped;
+    private String unescaped;
+
+    void reset(String input) {
+      this.input = input;
+      this.unescaped = null;
+    }
+
+    InputSpan set(int start, int end) {
+      return set(start, end, false, false);
+    }
+
+    /**
+     * Sets the span to the content of a quoted-string.
+     */
+    InputSpan setQuoted(int start, int end, boolean escaped) {
+      return set(start, end, true, escaped);
+    }
+
+    private InputSpan set(int start, int end, boolean quoted, boolean escaped) {
+      this.start = start;
+      this.end = end;
+      this.quoted = quoted;
+      this.escaped = escaped;
+      this.unescaped = null;
+      return this;
+    }
+
+    private String unescaped() {
+      if (unescaped == null) {
+        unescaped = TokenChars.unescape(input, start, end);
+      }
+      return unescaped;
+    }
+
+    @Override
+    public int length() {
+      return escaped ? unescaped().length() : end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (escaped) {
+        return unescaped().charAt(index);
+      }
+      return input.charAt(start + Objects.checkIndex(index, length()));
+    }
+
+    @Override
+    public String subSequence(int from, int to) {
+      if (escaped) {
+        return unescaped().substring(from, to);
+      }
+      Objects.checkFromToIndex(from, to, length());
+      return input.substring(start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+      return escaped ? unescaped() : input.substring(start, end);
+    }
+  }
+
+  /**
+   * Collects the events of a parse run into the flat arrays of a {@link CompactRawLinkHeader}.
+   * <p>
+   * A link is only kept once it ends, so the parameters of a link-value that a recovering run
+   * skips are dropped with the next link.
+   */
+  private static final class CompactCollector implements WebLinkHandler {
+
+    private String input;
+
+    private int[] uriSpans = new int[16];
+    private int[] firstParameter = new int[9];
+    private int links;
+
+    private int[] parameterSpans = new int[32];
+    private final BitSet escapedValues = new BitSet();
+    private final BitSet tokenValues = new BitSet();
+    private int parameters;
+
+    // parameters of the links that ended
+    private int endedParameters;
+
+    /**
+     * Prepares the collector for the next header, keeping the arrays.
+     */
+    CompactCollector reset(String input) {
+      this.input = input;
+      links = 0;
+      parameters = 0;
+      endedParameters = 0;
+      escapedValues.clear();
+      tokenValues.clear();
+      return this;
+    }
+
+    @Override
+    public void startLink(CharSequence uri) {
+      var span = (InputSpan) uri;
+      parameters = endedParameters;
+      if (2 * links + 2 > uriSpans.length) {
+        uriSpans = Arrays.copyOf(uriSpans, 2 * uriSpans.length);
+      }
+      uriSpans[2 * links] = span.start;
+      uriSpans[2 * links + 1] = span.end;
+    }
+
+    @Override
+    public void param(CharSequence name, CharSequence value) {
+      var nameSpan = (InputSpan) name;
+      if (4 * parameters + 4 > parameterSpans.length) {
+        parameterSpans = Arrays.copyOf(parameterSpans, 2 * parameterSpans.length);
+      }
+      int offset = 4 * parameters;
+      parameterSpans[offset] = nameSpan.start;
+      parameterSpans[offset + 1] = nameSpan.end;
+      if (value == null) {
+        parameterSpans[offset + 2] = -1;
+        parameterSpans[offset + 3] = -1;
+        escapedValues.clear(parameters);
+        tokenValues.clear(parameters);
+      } else {
+        var valueSpan = (InputSpan) value;
+        parameterSpans[offset + 2] = valueSpan.start;
+        parameterSpans[offset + 3] = valueSpan.end;
+        escapedValues.set(parameters, valueSpan.escaped);
+        tokenValues.set(parameters, !valueSpan.quoted);
+      }
+      parameters++;
+    }
+
+    @Override
+    public void endLink() {
+      if (links + 2 > firstParameter.length) {
+        firstParameter = Arrays.copyOf(firstParameter, 2 * firstParameter.length);
+      }
+      firstParameter[links] = endedParameters;
+      links++;
+      endedParameters = parameters;
+      firstParameter[links] = endedParameters;
+    }
+
+    CompactRawLinkHeader header(List<SkippedLinkValue> skipped) {
+      return new CompactRawLinkHeader(input, links, uriSpans, firstParameter, parameterSpans,
+          escapedValues, tokenValues, skipped);
+    }
+  }
+
+  /**
+   * The state of a parse call, which can be reset for the next call. After a token has been
+   * consumed, whitespace is skipped, so the current character is always the first character of the
+   * next token.
+   */
+  private static final class Run {
+
+    private String input;
+    private int length;
+    private WebLinkHandler handler;
+    private TokenObserver observer;
+    private int pos;
+
+    // only a recovering run collects skipped link-values
+    private List<SkippedLinkValue> skipped;
+
+    // views for the events, reused for every link and parameter
+    private final InputSpan uri = new InputSpan();
+    private final InputSpan name = new InputSpan();
+    private final InputSpan value = new InputSpan();
+
+    /**
+     * Prepares the run for the next header. The skipped link-values are part of the result and
+     * therefore not reused.
+     */
+    Run reset(String input, WebLinkHandler handler, TokenObserver observer, boolean recovering) {
+      this.input = input;
+      this.length = input.length();
+      this.handler = handler;
+      this.observer = observer;
+      this.pos = 0;
+      this.skipped = recovering ? new ArrayList<>() : null;
+      uri.reset(input);
+      name.reset(input);
+      value.reset(input);
+      return this;
+    }
+
+    List<SkippedLinkValue> parseHeader() {
+      skipWhitespace();
+      if (current() == EOF) {
+        observer.onToken(WebLinkTokenType.EOF, pos);
+        if (skipped == null) {
+          throw new StructureException(SimpleWebLinkParser.NO_LINK_MESSAGE, pos);
+        }
+        skipped.add(new SkippedLinkValue(pos, pos, SimpleWebLinkParser.NO_LINK_MESSAGE));
+        return skipped;
+      }
+
+      parseOrSkipLinkValue();
+      // While there is ',' (COMMA) present, parse another link value
+      while (current() == ',') {
+        if (handler.isDone()) {
+          // the rest of the header is neither scanned nor checked
+          return skippedLinkValues();
+        }
+        int commaPos = pos;
+        consume(WebLinkTokenType.COMMA);
+        if (current() == EOF) {
+          observer.onToken(WebLinkTokenType.EOF, pos);
+          if (skipped == null) {
+            throw new StructureException(SimpleWebLinkParser.TRAILING_COMMA_MESSAGE, commaPos);
+          }
+          skipped.add(
+              new SkippedLinkValue(commaPos, pos, SimpleWebLinkParser.TRAILING_COMMA_MESSAGE));
+          return skipped;
+        }
+        parseOrSkipLinkValue();
+      }
+      observer.onToken(WebLinkTokenType.EOF, pos);
+      return skippedLinkValues();
+    }
+
+    private List<SkippedLinkValue> skippedLinkValues() {
+      return skipped == null ? List.of() : skipped;
+    }
+
+    /**
+     * Parses the link-value at the current position. A recovering run skips a malformed
+     * link-value up to the next ',' (COMMA) or the end of input, else the structural violation is
+     * thrown.
+     */
+    private void parseOrSkipLinkValue() {
+      if (skipped == null) {
+        parseLinkValue();
+        return;
+      }
+      // the lexer reports quoted-strings at the position of their content
+      int start = current() == '"' ? pos + 1 : pos;
+      try {
+        parseLinkValue();
+      } catch (StructureException e) {
+        skipLinkValue();
+        skipped.add(new SkippedLinkValue(start, pos, e.getMessage()));
+      }
+    }
+
+    /**
+     * Skips the rest of a malformed link-value up to the next ',' (COMMA) or the end of input,
+     * reporting the skipped tokens to the observer like the lexer would produce them.
+     *
+     * @throws LexingException if the skipped part is not lexically well-formed
+     */
+    private void skipLinkValue() {
+      int c;
+      while ((c = current()) != EOF && c != ',') {
+        switch (c) {
+          case '<' -> {
+            int ltPos = pos;
+            observer.onToken(WebLinkTokenType.LT, ltPos);
+            int gtPos = input.indexOf('>', ltPos + 1);
+            if (gtPos < 0) {
+              throw new LexingException(
+                  "Unterminated URI reference: missing '>' for '<' at position " + ltPos, ltPos);
+            }
+            observer.onToken(WebLinkTokenType.URI, ltPos + 1);
+            observer.onToken(WebLinkTokenType.GT, gtPos);
+            pos = gtPos + 1;
+            skipWhitespace();
+          }
+          case '>' -> consume(WebLinkTokenType.GT);
+          case ';' -> consume(WebLinkTokenType.SEMICOLON);
+          case '=' -> consume(WebLinkTokenType.EQUALS);
+          case '"' -> {
+            int closePos = closingQuote(pos);
+            observer.onToken(WebLinkTokenType.QUOTED, pos + 1);
+            pos = closePos + 1;
+            skipWhitespace();
+          }
+          default -> {
+            int start = pos;
+            pos = identEnd(start);
+            observer.onToken(WebLinkTokenType.IDENT, start);
+            skipWhitespace();
+          }
+        }
+      }
+    }
+
+    private void parseLinkValue() {
+      parseUriReference();
+      if (current() != ',') {
+        parseParameters();
+      }
+      // A link-value is only complete if the next one or the end of the header follows
+      if (current() != ',' && current() != EOF) {
+        throw unexpected(WebLinkTokenType.EOF);
+      }
+      handler.endLink();
+    }
+
+    private void parseUriReference() {
+      if (current() != '<') {
+        throw unexpected(WebLinkTokenType.LT);
+      }
+      int ltPos = pos;
+      observer.onToken(WebLinkTokenType.LT, ltPos);
+      int gtPos = input.indexOf('>', ltPos + 1);
+      if (gtPos < 0) {
+        throw new LexingException(
+            "Unterminated URI reference: missing '>' for '<' at position " + ltPos, ltPos);
+      }
+      observer.onToken(WebLinkTokenType.URI, ltPos + 1);
+      observer.onToken(WebLinkTokenType.GT, gtPos);
+
+      pos = gtPos + 1;
+      skipWhitespace();
+      handler.startLink(uri.set(ltPos + 1, gtPos));
+    }
+
+    private void parseParameters() {
+      if (current() == EOF) {
+        return;
+      }
+      // expected separator for a parameter entry is ';' (semicolon) based on RFC 8288 section 3
+      if (current() != ';') {
+        throw unexpected(WebLinkTokenType.SEMICOLON);
+      }
+      consume(WebLinkTokenType.SEMICOLON);
+
+      // now one or more parameters can follow
+      while (current() != ',') {
+        parseParameter();
+        // If the current token is no ';' (SEMICOLON), no additional parameters are expected
+        if (current() != ';') {
+          break;
+        }
+        consume(WebLinkTokenType.SEMICOLON);
+      }
+    }
+
+    private void parseParameter() {
+      if (!identStartsAtCurrent()) {
+        throw unexpected(WebLinkTokenType.IDENT);
+      }
+      var paramName = readIdent(name);
+
+      // Checks for withoutValue parameter
+      int c = current();
+      if (c == EOF || c == ',' || c == ';') {
+        handler.param(paramName, null);
+        return;
+      }
+
+      // RFC 8288: token BWS [ "=" BWS (token / quoted-string ) ]
+      if (c != '=') {
+        throw unexpected(WebLinkTokenType.EQUALS);
+      }
+      consume(WebLinkTokenType.EQUALS);
+
+      CharSequence rawParamValue;
+      if (current() == '"') {
+        rawParamValue = readQuoted();
+      } else if (identStartsAtCurrent()) {
+        rawParamValue = readIdent(value);
+      } else {
+        var found = currentToken();
+        throw new StructureException(
+            "Expected any of [IDENT, QUOTED] but found %s('%s') at position %d"
+                .formatted(found.type(), found.text(), found.position()), found.position());
+      }
+      handler.param(paramName, rawParamValue);
+    }
+
+    /**
+     * Consumes a single character delimiter token.
+     */
+    private void consume(WebLinkTokenType delimiter) {
+      observer.onToken(delimiter, pos);
+      pos++;
+      skipWhitespace();
+    }
+
+    private CharSequence readIdent(InputSpan target) {
+      int start = pos;
+      pos = identEnd(start);
+      observer.onToken(WebLinkTokenType.IDENT, start);
+      target.set(start, pos);
+      skipWhitespace();
+      return target;
+    }
+
+    /**
+     * Reads a quoted-string value as view, which is unescaped on access if it contains
+     * quoted-pairs.
+     */
+    private CharSequence readQuoted() {
+      int quotePos = pos;
+      int closePos = closingQuote(quotePos);
+      observer.onToken(WebLinkTokenType.QUOTED, quotePos + 1);
+      pos = closePos + 1;
+      skipWhitespace();
+      return value.setQuoted(quotePos + 1, closePos,
+          input.indexOf('\\', quotePos + 1, closePos) >= 0);
+    }
+
+    /**
+     * Finds the closing quote of the quoted-string opened at the given position, skipping
+     * quoted-pairs.
+     *
+     * @throws LexingException if the quoted-string is not terminated
+     */
+    private int closingQuote(int quotePos) {
+      int closePos = input.indexOf('"', quotePos + 1);
+      if (closePos >= 0 && input.indexOf('\\', quotePos + 1, closePos) >= 0) {
+        // quoted-pairs are rare, scan the rest of the string character by character
+        closePos = -1;
+        for (int i = input.indexOf('\\', quotePos + 1); i < length; i++) {
+          char c = input.charAt(i);
+          if (c == '"') {
+            closePos = i;
+            break;
+          }
+          if (c == '\\') {
+            i++;
+          }
+        }
+      }
+      if (closePos < 0) {
+        throw new LexingException("Unterminated quoted-string starting at position " + quotePos,
+            quotePos);
+      }
+      return closePos;
+    }
+
+
+    /**
+     * Describes the current token for error messages, like the lexer would have produced it.
+     */
+    private WebLinkToken currentToken() {
+      int c = current();
+      return switch (c) {
+        case EOF -> WebLinkToken.of(WebLinkTokenType.EOF, "", pos);
+        case '<' -> WebLinkToken.of(WebLinkTokenType.LT, "<", pos);
+        case '>' -> WebLinkToken.of(WebLinkTokenType.GT, ">", pos);
+        case ';' -> WebLinkToken.of(WebLinkTokenType.SEMICOLON, ";", pos);
+        case '=' -> WebLinkToken.of(WebLinkTokenType.EQUALS, "=", pos);
+        case ',' -> WebLinkToken.of(WebLinkTokenType.COMMA, ",", pos);
+        case '"' -> WebLinkToken.of(WebLinkTokenType.QUOTED,
+            TokenChars.unescape(input, pos + 1, closingQuote(pos)), pos + 1);
+        default -> WebLinkToken.of(WebLinkTokenType.IDENT, input.substring(pos, identEnd(pos)),
+            pos);
+      };
+    }
+
+    private StructureException unexpected(WebLinkTokenType expected) {
+      var found = currentToken();
+      return new StructureException(
+          "Expected %s but found %s('%s') at position %d".formatted(expected, found.type(),
+              found.text(), found.position()), found.position());
+    }
+
+    private boolean identStartsAtCurrent() {
+      int c = current();
+      return c != EOF && !TokenChars.isDelimiter((char) c);
+    }
+
+    /**
+     * Returns the end of the unquoted token (IDENT) starting at the given position.
+     */
+    private int identEnd(int start) {
+      int end = start + 1;
+      while (end < length) {
+        // tchars are neither delimiters nor whitespace, skip their runs in bulk
+        end = TokenChars.tokenEnd(input, end, length);
+        if (end == length) {
+          break;
+        }
+        char c = input.charAt(end);
+        if (TokenChars.isDelimiter(c) || TokenChars.isWhitespace(c)) {
+          break;
+        }
+        end++;
+      }
+      return end;
+    }
+
+    private void skipWhitespace() {
+      while (pos < length && TokenChars.isWhitespace(input.charAt(pos))) {
+        pos++;
+      }
+    }
+
+    private int current() {
+      return pos < length ? input.charAt(pos) : EOF;
+    }
+  }
+}
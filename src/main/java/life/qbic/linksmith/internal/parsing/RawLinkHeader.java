@@ -2,6 +2,14 @@ package life.qbic.linksmith.internal.parsing;
 
 import java.util.List;
 
-public record RawLinkHeader(List<RawLink> rawLinks) {
+public record RawLinkHeader(List<RawLink> rawLinks, List<SkippedLinkValue> skipped) {
 
+  /**
+   * Creates a raw link header without skipped link-values.
+   *
+   * @param rawLinks the raw links in header order
+   */
+  public RawLinkHeader(List<RawLink> rawLinks) {
+    this(rawLinks, List.of());
+  }
 }
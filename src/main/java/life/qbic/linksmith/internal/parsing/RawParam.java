@@ -1,6 +1,27 @@
 package life.qbic.linksmith.internal.parsing;
 
-public record RawParam(String name, String value) {
+/**
+ * A parameter of a raw link, as it appears in the header.
+ * <p>
+ * A value that was serialised as unquoted {@code token} is marked as such, so validators can
+ * check its characters. Like all record components, the marker is part of the equality:
+ * {@code rel=self} and {@code rel="self"} are different raw parameters.
+ *
+ * @param name  the name of the parameter
+ * @param value the value of the parameter, unquoted, or {@code null} without value
+ * @param token {@code true}, if the value was serialised as unquoted token, else {@code false}
+ */
+public record RawParam(String name, String value, boolean token) {
+
+  /**
+   * Creates a raw parameter without information on the serialisation of its value.
+   *
+   * @param name  the name of the parameter
+   * @param value the value of the parameter, or {@code null} without value
+   */
+  public RawParam(String name, String value) {
+    this(name, value, false);
+  }
 
   /**
    * Creates an withoutValue raw parameter, that only has a name.
@@ -32,4 +53,20 @@ public record RawParam(String name, String value) {
     return new RawParam(name, value);
   }
 
+  /**
+   * Creates a raw parameter with a value that was serialised as unquoted {@code token}.
+   *
+   * @param name  the name of the parameter
+   * @param value the unquoted value of the parameter
+   * @return a raw parameter
+   * @throws IllegalArgumentException in case the value is {@code null}
+   */
+  public static RawParam withTokenValue(String name, String value)
+      throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("Value cannot be null");
+    }
+    return new RawParam(name, value, true);
+  }
+
 }
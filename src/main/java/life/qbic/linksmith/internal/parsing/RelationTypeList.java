@@ -0,0 +1,63 @@
+package life.qbic.linksmith.internal.parsing;
+
+/**
+ * Walks the relation types of a {@code rel} or {@code rev} value without splitting it.
+ * <p>
+ * Defined in <a href="https://www.rfc-editor.org/rfc/rfc8288">RFC 8288</a>, section 3.3, the
+ * value is a whitespace-separated list:
+ *
+ * <pre>
+ * {@code
+ * relation-type *( 1*SP relation-type )
+ * }
+ * </pre>
+ * <p>
+ * Like {@code String.split("\\s+")}, any whitespace separates relation types, and leading and
+ * trailing whitespace is ignored.
+ */
+public final class RelationTypeList {
+
+  /**
+   * Receives the span of a single relation type in a value.
+   */
+  @FunctionalInterface
+  public interface Consumer {
+
+    /**
+     * Called with the span of a relation type.
+     *
+     * @param value the value that contains the relation type
+     * @param start the start of the relation type, inclusive
+     * @param end   the end of the relation type, exclusive
+     * @return {@code true} to stop, {@code false} to continue with the next relation type
+     */
+    boolean accept(String value, int start, int end);
+  }
+
+  private RelationTypeList() {}
+
+  /**
+   * Passes the relation types of the value to the consumer in order, until it asks to stop.
+   *
+   * @param value    the {@code rel} or {@code rev} value
+   * @param consumer the consumer of the relation types
+   * @return {@code true}, if the consumer stopped, else {@code false}
+   */
+  public static boolean forEach(String value, Consumer consumer) {
+    int length = value.length();
+    int i = 0;
+    while (i < length) {
+      while (i < length && Character.isWhitespace(value.charAt(i))) {
+        i++;
+      }
+      int start = i;
+      while (i < length && !Character.isWhitespace(value.charAt(i))) {
+        i++;
+      }
+      if (i > start && consumer.accept(value, start, i)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
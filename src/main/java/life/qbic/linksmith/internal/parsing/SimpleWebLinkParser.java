@@ -7,7 +7,10 @@ import java.util.List;
 import java.util.Objects;
 import life.qbic.linksmith.internal.lexing.WebLinkToken;
 import life.qbic.linksmith.internal.lexing.WebLinkTokenType;
+import life.qbic.linksmith.spi.OrderedTokenList;
+import life.qbic.linksmith.spi.WebLinkLexer;
 import life.qbic.linksmith.spi.WebLinkParser;
+import life.qbic.linksmith.spi.WebLinkTokenCursor;
 
 /**
  * Parses serialized information used in Web Linking as described in <a
@@ -16,7 +19,12 @@ import life.qbic.linksmith.spi.WebLinkParser;
  * The implementation is based on the <i>Link Serialisation in HTTP Headers</i>, section 3 of the
  * RFC 8288.
  * <p>
- * Note: the implementation of this class is NOT thread-safe.
+ * The parser is stateless: the parsing state lives in the token cursor of each call, so a single
+ * instance can be shared by concurrent threads.
+ * <p>
+ * By default, the parser throws a {@link StructureException} on the first structural violation. A
+ * parser created with {@link #createRecovering()} skips malformed link-values instead and returns
+ * the well-formed ones.
  *
  * <p>
  *
@@ -32,11 +40,16 @@ import life.qbic.linksmith.spi.WebLinkParser;
  */
 public class SimpleWebLinkParser implements WebLinkParser {
 
-  private int currentPosition = 0;
+  static final String NO_LINK_MESSAGE =
+      "A link header entry must have at least one web link. Tokens started with EOF.";
+
+  static final String TRAILING_COMMA_MESSAGE =
+      "Unexpected trailing comma: expected another link-value after ','.";
 
-  private List<WebLinkToken> tokens;
+  private final boolean recovering;
 
-  private SimpleWebLinkParser() {
+  private SimpleWebLinkParser(boolean recovering) {
+    this.recovering = recovering;
   }
 
   /**
@@ -45,7 +58,33 @@ public class SimpleWebLinkParser implements WebLinkParser {
    * @return the new SimpleWebLinkParser
    */
   public static SimpleWebLinkParser create() {
-    return new SimpleWebLinkParser();
+    return new SimpleWebLinkParser(false);
+  }
+
+  /**
+   * Creates a new SimpleWebLinkParser object instance that recovers from structural violations.
+   * <p>
+   * When a link-value violates the structure, the parser skips its tokens up to the next
+   * top-level ',' (COMMA) and continues with the next link-value. Every skipped link-value is
+   * recorded in {@link RawLinkHeader#skipped()} with the violation found, and the well-formed
+   * link-values are returned as usual. A header without any link-value and a trailing ','
+   * (COMMA) are recorded the same way. No {@link StructureException} is thrown for the structure
+   * of the header, lexical errors are still thrown by the lexer.
+   *
+   * @return the new recovering SimpleWebLinkParser
+   */
+  public static SimpleWebLinkParser createRecovering() {
+    return new SimpleWebLinkParser(true);
+  }
+
+  /**
+   * Evaluates if the parser skips malformed link-values instead of throwing, see
+   * {@link #createRecovering()}.
+   *
+   * @return {@code true}, if the parser recovers from structural violations, else {@code false}
+   */
+  public boolean isRecovering() {
+    return recovering;
   }
 
 
@@ -65,6 +104,9 @@ public class SimpleWebLinkParser implements WebLinkParser {
    * </ul>
    * <p>
    * In case the contract is violated, a structure exception is thrown.
+   * <p>
+   * An {@link OrderedTokenList} is parsed as it is. Other lists are checked for ascending order in
+   * a single pass and only sorted into a copy if they are out of order.
    *
    * @param tokens a list of tokens to parse as raw web link header
    * @return a raw web link header, structurally validated against RFC 8288
@@ -81,46 +123,110 @@ public class SimpleWebLinkParser implements WebLinkParser {
           "A link header entry must have at least one web link. Tokens were withoutValue.");
     }
 
-    // Always reset the internal state on every parse() call
-    reset();
-
-    this.tokens = tokens.stream()
-        .sorted(Comparator.comparingInt(WebLinkToken::position))
-        .toList();
+    var sortedTokens = tokens instanceof OrderedTokenList ? tokens : inPositionOrder(tokens);
 
     // Validate contract
-    ensureEOF("Lexer did not append EOF token");
+    ensureEOF(sortedTokens, "Lexer did not append EOF token");
 
-    if (this.tokens.get(currentPosition).type() == WebLinkTokenType.EOF) {
-      throw new StructureException(
-          "A link header entry must have at least one web link. Tokens started with EOF.");
+    return parse(WebLinkTokenCursor.of(sortedTokens));
+  }
+
+  /**
+   * Parses web link tokens from a cursor to a raw link header value, pulling one token at a time.
+   * No token is buffered, so a lazy cursor (see {@link WebLinkLexer#supportsStreaming()}) lexes
+   * and parses the header in a single pass.
+   * <p>
+   * The cursor must end with an EOF token, which holds for every cursor created by a
+   * {@link WebLinkLexer}.
+   *
+   * @param cursor a cursor positioned on the first token to parse
+   * @return a raw web link header, structurally validated against RFC 8288
+   * @throws NullPointerException if the cursor is {@code null}
+   * @throws StructureException   if the tokens violate the structure of a valid web link token,
+   *                              unless the parser is recovering
+   */
+  @Override
+  public RawLinkHeader parse(WebLinkTokenCursor cursor)
+      throws NullPointerException, StructureException {
+    Objects.requireNonNull(cursor);
+
+    // only a recovering parser collects skipped link-values
+    var skipped = recovering ? new ArrayList<SkippedLinkValue>() : null;
+
+    if (currentIsEof(cursor)) {
+      if (skipped == null) {
+        throw new StructureException(NO_LINK_MESSAGE, cursor.startOffset());
+      }
+      skipped.add(new SkippedLinkValue(cursor.startOffset(), cursor.startOffset(),
+          NO_LINK_MESSAGE));
+      return new RawLinkHeader(List.of(), skipped);
     }
 
     var collectedLinks = new ArrayList<RawLink>();
 
-    var parsedLink = parseLinkValue();
-    collectedLinks.add(parsedLink);
+    parseOrSkipLinkValue(cursor, collectedLinks, skipped);
     // While there is ',' (COMMA) present, parse another link value
-    while (current().type() == WebLinkTokenType.COMMA) {
-      next();
-      if (currentIsEof()) {
-        throw new StructureException(
-            "Unexpected trailing comma: expected another link-value after ','.");
+    while (currentType(cursor) == WebLinkTokenType.COMMA) {
+      int commaPosition = cursor.startOffset();
+      next(cursor);
+      if (currentIsEof(cursor)) {
+        if (skipped == null) {
+          throw new StructureException(TRAILING_COMMA_MESSAGE, commaPosition);
+        }
+        skipped.add(new SkippedLinkValue(commaPosition, cursor.startOffset(),
+            TRAILING_COMMA_MESSAGE));
+        break;
       }
-      collectedLinks.add(parseLinkValue());
+      parseOrSkipLinkValue(cursor, collectedLinks, skipped);
     }
 
-    // Last consumed token must be always EOF to ensure that the token stream has been consumed
-    expectCurrent(WebLinkTokenType.EOF);
+    return new RawLinkHeader(collectedLinks, skipped == null ? List.of() : skipped);
+  }
 
-    return new RawLinkHeader(collectedLinks);
+  /**
+   * Parses the link-value at the current position. If skipped link-values are collected, a
+   * malformed link-value is skipped up to the next ',' (COMMA) or the end of input, else the
+   * structural violation is thrown.
+   *
+   * @param cursor         the cursor positioned on the link-value
+   * @param collectedLinks the links parsed so far, to add the link-value to
+   * @param skipped        the link-values skipped so far, or {@code null} to throw instead
+   */
+  private static void parseOrSkipLinkValue(WebLinkTokenCursor cursor, List<RawLink> collectedLinks,
+      List<SkippedLinkValue> skipped) throws StructureException {
+    if (skipped == null) {
+      collectedLinks.add(parseLinkValue(cursor));
+      return;
+    }
+    int start = cursor.startOffset();
+    try {
+      collectedLinks.add(parseLinkValue(cursor));
+    } catch (StructureException e) {
+      while (!currentIsEof(cursor) && currentType(cursor) != WebLinkTokenType.COMMA) {
+        next(cursor);
+      }
+      skipped.add(new SkippedLinkValue(start, cursor.startOffset(), e.getMessage()));
+    }
   }
 
   /**
-   * Resets the internal state of the parser instance
+   * Returns the tokens in ascending order by position. Lists that are already in order are
+   * returned as they are, so only out-of-order lists pay for a sorted copy.
+   *
+   * @param tokens the tokens to order
+   * @return the tokens in ascending order by position
    */
-  private void reset() {
-    currentPosition = 0;
+  private static List<WebLinkToken> inPositionOrder(List<WebLinkToken> tokens) {
+    int previousPosition = Integer.MIN_VALUE;
+    for (WebLinkToken token : tokens) {
+      if (token.position() < previousPosition) {
+        return tokens.stream()
+            .sorted(Comparator.comparingInt(WebLinkToken::position))
+            .toList();
+      }
+      previousPosition = token.position();
+    }
+    return tokens;
   }
 
   /**
@@ -128,10 +234,12 @@ public class SimpleWebLinkParser implements WebLinkParser {
    * simple, this is part of the contract and the parser shall fail early if the contract is
    * violated.
    *
+   * @param tokens       the sorted token list
    * @param errorMessage the message to provide in the exception
    * @throws IllegalStateException if the last token of the list ist not an EOF token
    */
-  private void ensureEOF(String errorMessage) throws IllegalStateException {
+  private static void ensureEOF(List<WebLinkToken> tokens, String errorMessage)
+      throws IllegalStateException {
     if (tokens.getLast().type() != WebLinkTokenType.EOF) {
       throw new IllegalStateException(errorMessage);
     }
@@ -144,15 +252,21 @@ public class SimpleWebLinkParser implements WebLinkParser {
    * If the target has a trailing ',' (COMMA), no further parameters are expected.
    * <p>
    * The correctness of the parameter structure with a precedent ';' (SEMICOLON) after the target is
-   * concern of the {@link #parseParameters()} method, since it is part of the parameter list
-   * description.
+   * concern of the {@link #parseParameters(WebLinkTokenCursor)} method, since it is part of the
+   * parameter list description.
    *
+   * @param cursor the cursor positioned on the link-value
    * @return a raw web link value with target and optionally one or more parameters
    */
-  private RawLink parseLinkValue() {
-    var parsedLinkValue = parseUriReference();
-    if (current().type() != WebLinkTokenType.COMMA) {
-      return new RawLink(parsedLinkValue, parseParameters());
+  private static RawLink parseLinkValue(WebLinkTokenCursor cursor) {
+    var parsedLinkValue = parseUriReference(cursor);
+    if (currentType(cursor) != WebLinkTokenType.COMMA) {
+      var parameters = parseParameters(cursor);
+      // A link-value is only complete if the next one or the end of the token stream follows
+      if (currentType(cursor) != WebLinkTokenType.COMMA) {
+        expectCurrent(cursor, WebLinkTokenType.EOF);
+      }
+      return new RawLink(parsedLinkValue, parameters);
     }
     return new RawLink(parsedLinkValue, List.of());
   }
@@ -167,78 +281,85 @@ public class SimpleWebLinkParser implements WebLinkParser {
    * In case the link-value has no parameters at all (e.g. multiple web links with targets (URI)
    * only), this method should not be called in the first place.
    *
+   * @param cursor the cursor positioned after the target of the link-value
    * @return a list of raw parameters with param name and value
    */
-  private List<RawParam> parseParameters() {
+  private static List<RawParam> parseParameters(WebLinkTokenCursor cursor) {
     var parameters = new ArrayList<RawParam>();
-    if (currentIsEof()) {
+    if (currentIsEof(cursor)) {
       return parameters;
     }
     // expected separator for a parameter entry is ';' (semicolon) based on RFC 8288 section 3
-    expectCurrent(WebLinkTokenType.SEMICOLON);
-    next();
+    expectCurrent(cursor, WebLinkTokenType.SEMICOLON);
+    next(cursor);
 
     // now one or more parameters can follow
-    while (current().type() != WebLinkTokenType.COMMA) {
-      RawParam parameter = parseParameter();
+    while (currentType(cursor) != WebLinkTokenType.COMMA) {
+      RawParam parameter = parseParameter(cursor);
       parameters.add(parameter);
       // If the current token is no ';' (SEMICOLON), no additional parameters are expected
-      if (current().type() != WebLinkTokenType.SEMICOLON) {
+      if (currentType(cursor) != WebLinkTokenType.SEMICOLON) {
         break;
       }
-      next();
+      next(cursor);
     }
     return parameters;
   }
 
-  private RawParam parseParameter() throws StructureException {
-    expectCurrent(WebLinkTokenType.IDENT);
-    var paramName = current().text();
+  private static RawParam parseParameter(WebLinkTokenCursor cursor) throws StructureException {
+    expectCurrent(cursor, WebLinkTokenType.IDENT);
+    var paramName = cursor.text();
 
-    next();
+    next(cursor);
 
     // Checks for withoutValue parameter
-    if (currentIsEof()
-        || current().type() == WebLinkTokenType.COMMA
-        || current().type() == WebLinkTokenType.SEMICOLON
+    if (currentIsEof(cursor)
+        || currentType(cursor) == WebLinkTokenType.COMMA
+        || currentType(cursor) == WebLinkTokenType.SEMICOLON
     ) {
       return RawParam.emptyParameter(paramName);
     }
 
     // Next token must be "=" (equals)
     // RFC 8288: token BWS [ "=" BWS (token / quoted-string ) ]
-    expectCurrent(WebLinkTokenType.EQUALS);
+    expectCurrent(cursor, WebLinkTokenType.EQUALS);
 
-    next();
+    next(cursor);
 
-    expectCurrentAny(WebLinkTokenType.IDENT, WebLinkTokenType.QUOTED);
-    var rawParamValue = current().text();
+    expectCurrentAny(cursor, WebLinkTokenType.IDENT, WebLinkTokenType.QUOTED);
+    var token = currentType(cursor) == WebLinkTokenType.IDENT;
+    var rawParamValue = cursor.text();
 
-    next();
+    next(cursor);
 
-    return RawParam.withValue(paramName, rawParamValue);
+    return token
+        ? RawParam.withTokenValue(paramName, rawParamValue)
+        : RawParam.withValue(paramName, rawParamValue);
   }
 
   /**
    * Evaluates if the current token is an EOF token.
    *
+   * @param cursor the cursor to check
    * @return {@code true}, if the current token is an EOF token, else {@code false}
    */
-  private boolean currentIsEof() {
-    return current().type() == WebLinkTokenType.EOF;
+  private static boolean currentIsEof(WebLinkTokenCursor cursor) {
+    return currentType(cursor) == WebLinkTokenType.EOF;
   }
 
   /**
    * Checks the current token and throws an exception, if it is not of the expected type.
    *
-   * @param token the expected token
+   * @param cursor the cursor to check
+   * @param token  the expected token
    * @throws StructureException if the current token does not match the expected one
    */
-  private void expectCurrent(WebLinkTokenType token) throws StructureException {
-    if (current().type() != token) {
+  private static void expectCurrent(WebLinkTokenCursor cursor, WebLinkTokenType token)
+      throws StructureException {
+    if (currentType(cursor) != token) {
       throw new StructureException(
-          "Expected %s but found %s('%s') at position %d".formatted(token, current().type(),
-              current().text(), current().position()));
+          "Expected %s but found %s('%s') at position %d".formatted(token, currentType(cursor),
+              cursor.text(), cursor.startOffset()), cursor.startOffset());
     }
   }
 
@@ -247,12 +368,15 @@ public class SimpleWebLinkParser implements WebLinkParser {
    * <p>
    * If no expected type is provided, the method will throw a {@link StructureException}.
    *
+   * @param cursor   the cursor to check
    * @param expected zero or more expected token types.
    * @throws StructureException if the current token does not match any expected token
    */
-  private void expectCurrentAny(WebLinkTokenType... expected) throws StructureException {
+  private static void expectCurrentAny(WebLinkTokenCursor cursor, WebLinkTokenType... expected)
+      throws StructureException {
+    var currentType = currentType(cursor);
     var matches = Arrays.stream(expected)
-        .anyMatch(type -> type.equals(current().type()));
+        .anyMatch(type -> type.equals(currentType));
 
     if (!matches) {
       var expectedNames = Arrays.stream(expected)
@@ -261,56 +385,68 @@ public class SimpleWebLinkParser implements WebLinkParser {
           .orElse("");
       throw new StructureException(
           "Expected any of [%s] but found %s('%s') at position %d"
-              .formatted(expectedNames, current().type(), current().text(), current().position()));
+              .formatted(expectedNames, currentType, cursor.text(), cursor.startOffset()),
+          cursor.startOffset());
     }
   }
 
   /**
-   * Will use the token from the current position with {@link this#current()} and try to parse the
-   * raw URI value. After successful return the current position is advanced to the next token in
-   * the list.
+   * Will use the token from the current position with
+   * {@link #currentType(WebLinkTokenCursor)} and try to parse the raw URI value. After successful
+   * return the current position is advanced to the next token in the list.
    *
+   * @param cursor the cursor positioned on the '&lt;' of the URI reference
    * @return the raw value of the URI
    */
-  private String parseUriReference() {
+  private static String parseUriReference(WebLinkTokenCursor cursor) {
     var uriValue = "";
 
     // URI value must start with '<'
-    expectCurrent(WebLinkTokenType.LT);
-    next();
+    expectCurrent(cursor, WebLinkTokenType.LT);
+    next(cursor);
 
     // URI reference expected
-    expectCurrent(WebLinkTokenType.URI);
-    uriValue = current().text();
-    next();
+    expectCurrent(cursor, WebLinkTokenType.URI);
+    uriValue = cursor.text();
+    next(cursor);
 
     // URI value must end with '>'
-    expectCurrent(WebLinkTokenType.GT);
+    expectCurrent(cursor, WebLinkTokenType.GT);
 
-    next();
+    next(cursor);
     return uriValue;
   }
 
   /**
-   * Returns the token on the current position.
+   * Returns the type of the token on the current cursor position.
    *
-   * @return the token on the current position.
+   * @param cursor the cursor to check
+   * @return the type of the current token
    */
-  private WebLinkToken current() {
-    return tokens.get(currentPosition);
+  private static WebLinkTokenType currentType(WebLinkTokenCursor cursor) {
+    return cursor.peekType();
   }
 
   /**
-   * Returns the next token from the current position. If the current position is already the last
-   * token of the token list, the last token will be returned.
+   * Advances the cursor to the next token. If the cursor is already on the last token, it stays
+   * there.
    * <p>
-   * By contract, the parser expects the last item to be an EOF token (see
-   * {@link WebLinkTokenType#EOF}). So the last item in the token list will always be an EOF token.
+   * By contract, the parser expects the last token to be an EOF token (see
+   * {@link WebLinkTokenType#EOF}). So the last token of the cursor will always be an EOF token.
+   *
+   * @param cursor the cursor to advance
    */
-  private WebLinkToken next() {
-    if (currentPosition < tokens.size() - 1) {
-      currentPosition++;
-    }
-    return current();
+  private static void next(WebLinkTokenCursor cursor) {
+    cursor.next();
+  }
+
+  /**
+   * This parser consumes cursors token by token, without buffering.
+   *
+   * @return always {@code true}
+   */
+  @Override
+  public boolean supportsStreaming() {
+    return true;
   }
 }
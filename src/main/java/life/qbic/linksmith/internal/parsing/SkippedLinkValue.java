@@ -0,0 +1,13 @@
+package life.qbic.linksmith.internal.parsing;
+
+/**
+ * A malformed link-value that a recovering parser skipped, see
+ * {@link SimpleWebLinkParser#createRecovering()}.
+ *
+ * @param start  the position of the first token of the skipped link-value
+ * @param end    the position of the ',' (COMMA) or the end of input that terminated it
+ * @param reason the structural violation that was found in the link-value
+ */
+public record SkippedLinkValue(int start, int end, String reason) {
+
+}
@@ -0,0 +1,247 @@
+package life.qbic.linksmith.model;
+
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * The target of a {@link WebLink}: the URI-Reference inside {@code <...>} of a link-value.
+ * <p>
+ * A target keeps the reference as it appears in the header. {@link #parse(String)} accepts exactly
+ * the references {@link URI} accepts. Most references consist of the characters of a
+ * <a href="https://www.rfc-editor.org/rfc/rfc3986#section-4.1">RFC 3986</a> URI-Reference only and
+ * are recognised in a single pass over the characters, without creating a {@link URI}. Their
+ * {@link URI} is only created on the first call of {@link #uri()} and kept for later calls. All
+ * other references, e.g. with IP literals, empty authorities or brackets in the query, are checked
+ * by creating the {@link URI} right away.
+ * <p>
+ * Like {@link URI}, non US-ASCII characters that are neither control nor space characters are
+ * accepted, so that IRIs remain usable. Targets are equal if their references are equal.
+ */
+public final class LinkTarget {
+
+  private final String reference;
+
+  private volatile URI uri;
+
+  private LinkTarget(String reference, URI uri) {
+    this.reference = reference;
+    this.uri = uri;
+  }
+
+  /**
+   * Creates a target for an already created URI.
+   *
+   * @param uri the URI of the target
+   * @return the target
+   * @throws NullPointerException if the URI is {@code null}
+   */
+  public static LinkTarget of(URI uri) throws NullPointerException {
+    return new LinkTarget(uri.toString(), uri);
+  }
+
+  /**
+   * Creates a target for a URI-Reference after checking its syntax. The {@link URI} is only
+   * created if the single-pass check cannot decide on the reference.
+   *
+   * @param reference the URI-Reference
+   * @return the target
+   * @throws IllegalArgumentException if {@link URI} does not accept the reference, with the message
+   *                                  of {@link URI#create(String)}
+   * @throws NullPointerException     if the reference is {@code null}
+   */
+  public static LinkTarget parse(String reference)
+      throws IllegalArgumentException, NullPointerException {
+    if (isPlainReference(Objects.requireNonNull(reference))) {
+      return new LinkTarget(reference, null);
+    }
+    return new LinkTarget(reference, URI.create(reference));
+  }
+
+  /**
+   * Returns the URI-Reference as it appears in the header.
+   *
+   * @return the raw reference
+   */
+  public String reference() {
+    return reference;
+  }
+
+  /**
+   * Returns the target as {@link URI}, creating it on the first call.
+   * <p>
+   * For targets created by {@link #parse(String)} or {@link #of(URI)} this never fails.
+   *
+   * @return the URI of the target
+   */
+  public URI uri() {
+    var result = uri;
+    if (result == null) {
+      result = URI.create(reference);
+      uri = result;
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof LinkTarget that)) {
+      return false;
+    }
+    return reference.equals(that.reference);
+  }
+
+  @Override
+  public int hashCode() {
+    return reference.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return reference;
+  }
+
+  /**
+   * Recognises the common URI-References that {@link URI} accepts: an optional scheme, an optional
+   * non-empty authority without IP literal after "//", and path, query and fragment characters with
+   * well-formed percent-encodings.
+   * <p>
+   * Returns {@code false} for everything else, which includes all references {@link URI} rejects
+   * but also rare valid ones, so the caller has to let {@link URI} decide.
+   */
+  private static boolean isPlainReference(String reference) {
+    int length = reference.length();
+    int pos = 0;
+
+    int schemeEnd = -1;
+    for (int i = 0; i < length; i++) {
+      char c = reference.charAt(i);
+      if (c == ':') {
+        schemeEnd = i;
+        break;
+      }
+      if (c == '/' || c == '?' || c == '#') {
+        break;
+      }
+    }
+    if (schemeEnd >= 0) {
+      // a relative reference must not contain ':' in its first path segment
+      if (!isScheme(reference, schemeEnd)) {
+        return false;
+      }
+      pos = schemeEnd + 1;
+      if (pos == length || reference.charAt(pos) == '#') {
+        return false;
+      }
+    }
+
+    if (reference.startsWith("//", pos)) {
+      pos += 2;
+      int end = pos;
+      while (end < length && "/?#".indexOf(reference.charAt(end)) < 0) {
+        end++;
+      }
+      if (end == pos || !isAuthority(reference, pos, end)) {
+        return false;
+      }
+      pos = end;
+    }
+
+    // query and fragment, but not the path, may contain brackets
+    boolean query = false;
+    boolean fragment = false;
+    for (; pos < length; pos++) {
+      char c = reference.charAt(pos);
+      if (c == '%') {
+        if (!isPercentEncoding(reference, pos)) {
+          return false;
+        }
+        pos += 2;
+      } else if (c == '#') {
+        if (fragment) {
+          return false;
+        }
+        fragment = true;
+      } else if (c == '?') {
+        query = true;
+      } else if (!isPathChar(c) && c != '/' && !((query || fragment) && (c == '[' || c == ']'))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isScheme(String reference, int schemeEnd) {
+    if (schemeEnd == 0 || !isAlpha(reference.charAt(0))) {
+      return false;
+    }
+    for (int i = 1; i < schemeEnd; i++) {
+      char c = reference.charAt(i);
+      if (!isAlpha(c) && !isDigit(c) && c != '+' && c != '-' && c != '.') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks {@code [ userinfo "@" ] host [ ":" port ]} with a registered name or IPv4 address as
+   * host. {@link URI} falls back to a registry-based authority for all of them.
+   */
+  private static boolean isAuthority(String reference, int start, int end) {
+    for (int i = start; i < end; i++) {
+      char c = reference.charAt(i);
+      if (c == '%') {
+        if (!isPercentEncoding(reference, i)) {
+          return false;
+        }
+        i += 2;
+      } else if (!isUnreserved(c) && !isSubDelimiter(c) && c != ':' && c != '@'
+          && !isOther(c)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isPercentEncoding(String reference, int pos) {
+    return pos + 2 < reference.length() && isHexDigit(reference.charAt(pos + 1))
+        && isHexDigit(reference.charAt(pos + 2));
+  }
+
+  /**
+   * {@code pchar} of RFC 3986 without percent-encodings, plus other characters.
+   */
+  private static boolean isPathChar(char c) {
+    return isUnreserved(c) || isSubDelimiter(c) || c == ':' || c == '@' || isOther(c);
+  }
+
+  private static boolean isUnreserved(char c) {
+    return isAlpha(c) || isDigit(c) || c == '-' || c == '.' || c == '_' || c == '~';
+  }
+
+  private static boolean isSubDelimiter(char c) {
+    return switch (c) {
+      case '!', '$', '&', '\'', '(', ')', '*', '+', ',', ';', '=' -> true;
+      default -> false;
+    };
+  }
+
+  /**
+   * Non US-ASCII characters that {@link URI} accepts in all components.
+   */
+  private static boolean isOther(char c) {
+    return c > 0x7F && !Character.isISOControl(c) && !Character.isSpaceChar(c);
+  }
+
+  private static boolean isAlpha(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isHexDigit(char c) {
+    return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+  }
+}
@@ -0,0 +1,269 @@
+package life.qbic.linksmith.model;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The relation types of the IANA
+ * <a href="https://www.iana.org/assignments/link-relations/">Link Relation Types</a> registry.
+ * <p>
+ * The constants are a snapshot of the registry, taken in 2024. Relation types that are not
+ * registered are extension relation types (RFC 8288, section 2.1.2) and have no constant.
+ * <p>
+ * Registered relation types are compared case-insensitively (RFC 8288, section 2.1.1). Lookups
+ * use a perfect hash table, which is compiled when the class is initialised: a multiplier is
+ * chosen for which the hashes of all registered relation types map to distinct slots. A lookup
+ * therefore hashes the input once and compares it with at most one relation type, and it works on
+ * a span of a {@link CharSequence} without creating a substring.
+ *
+ * <pre>
+ *   {@code
+ *   RelationType.lookup("describedby")   // Optional[DESCRIBEDBY]
+ *   RelationType.lookup("x-custom")      // Optional.empty
+ *   }
+ * </pre>
+ */
+public enum RelationType {
+
+  ABOUT("about"),
+  ACL("acl"),
+  ALTERNATE("alternate"),
+  AMPHTML("amphtml"),
+  API_CATALOG("api-catalog"),
+  APPENDIX("appendix"),
+  APPLE_TOUCH_ICON("apple-touch-icon"),
+  APPLE_TOUCH_STARTUP_IMAGE("apple-touch-startup-image"),
+  ARCHIVES("archives"),
+  AUTHOR("author"),
+  BLOCKED_BY("blocked-by"),
+  BOOKMARK("bookmark"),
+  C2PA_MANIFEST("c2pa-manifest"),
+  CANONICAL("canonical"),
+  CHAPTER("chapter"),
+  CITE_AS("cite-as"),
+  COLLECTION("collection"),
+  COMPRESSION_DICTIONARY("compression-dictionary"),
+  CONTENTS("contents"),
+  CONVERTEDFROM("convertedfrom"),
+  COPYRIGHT("copyright"),
+  CREATE_FORM("create-form"),
+  CURRENT("current"),
+  DEPRECATION("deprecation"),
+  DESCRIBEDBY("describedby"),
+  DESCRIBES("describes"),
+  DISCLOSURE("disclosure"),
+  DNS_PREFETCH("dns-prefetch"),
+  DUPLICATE("duplicate"),
+  EDIT("edit"),
+  EDIT_FORM("edit-form"),
+  EDIT_MEDIA("edit-media"),
+  ENCLOSURE("enclosure"),
+  EXTERNAL("external"),
+  FIRST("first"),
+  GEOFEED("geofeed"),
+  GLOSSARY("glossary"),
+  HELP("help"),
+  HOSTS("hosts"),
+  HUB("hub"),
+  ICE_SERVER("ice-server"),
+  ICON("icon"),
+  INDEX("index"),
+  INTERVALAFTER("intervalafter"),
+  INTERVALBEFORE("intervalbefore"),
+  INTERVALCONTAINS("intervalcontains"),
+  INTERVALDISJOINT("intervaldisjoint"),
+  INTERVALDURING("intervalduring"),
+  INTERVALEQUALS("intervalequals"),
+  INTERVALFINISHEDBY("intervalfinishedby"),
+  INTERVALFINISHES("intervalfinishes"),
+  INTERVALIN("intervalin"),
+  INTERVALMEETS("intervalmeets"),
+  INTERVALMETBY("intervalmetby"),
+  INTERVALOVERLAPPEDBY("intervaloverlappedby"),
+  INTERVALOVERLAPS("intervaloverlaps"),
+  INTERVALSTARTEDBY("intervalstartedby"),
+  INTERVALSTARTS("intervalstarts"),
+  ITEM("item"),
+  LAST("last"),
+  LATEST_VERSION("latest-version"),
+  LICENSE("license"),
+  LINKSET("linkset"),
+  LRDD("lrdd"),
+  MANIFEST("manifest"),
+  MASK_ICON("mask-icon"),
+  ME("me"),
+  MEDIA_FEED("media-feed"),
+  MEMENTO("memento"),
+  MICROPUB("micropub"),
+  MODULEPRELOAD("modulepreload"),
+  MONITOR("monitor"),
+  MONITOR_GROUP("monitor-group"),
+  NEXT("next"),
+  NEXT_ARCHIVE("next-archive"),
+  NOFOLLOW("nofollow"),
+  NOOPENER("noopener"),
+  NOREFERRER("noreferrer"),
+  OPENER("opener"),
+  OPENID2_LOCAL_ID("openid2.local_id"),
+  OPENID2_PROVIDER("openid2.provider"),
+  ORIGINAL("original"),
+  P3PV1("p3pv1"),
+  PAYMENT("payment"),
+  PINGBACK("pingback"),
+  PRECONNECT("preconnect"),
+  PREDECESSOR_VERSION("predecessor-version"),
+  PREFETCH("prefetch"),
+  PRELOAD("preload"),
+  PRERENDER("prerender"),
+  PREV("prev"),
+  PREVIEW("preview"),
+  PREVIOUS("previous"),
+  PREV_ARCHIVE("prev-archive"),
+  PRIVACY_POLICY("privacy-policy"),
+  PROFILE("profile"),
+  PUBLICATION("publication"),
+  RELATED("related"),
+  REPLIES("replies"),
+  RESTCONF("restconf"),
+  RULEINPUT("ruleinput"),
+  SEARCH("search"),
+  SECTION("section"),
+  SELF("self"),
+  SERVICE("service"),
+  SERVICE_DESC("service-desc"),
+  SERVICE_DOC("service-doc"),
+  SERVICE_META("service-meta"),
+  SIP_TRUNKING_CAPABILITY("sip-trunking-capability"),
+  SPONSORED("sponsored"),
+  START("start"),
+  STATUS("status"),
+  STYLESHEET("stylesheet"),
+  SUBSECTION("subsection"),
+  SUCCESSOR_VERSION("successor-version"),
+  SUNSET("sunset"),
+  TAG("tag"),
+  TERMS_OF_SERVICE("terms-of-service"),
+  TIMEGATE("timegate"),
+  TIMEMAP("timemap"),
+  TYPE("type"),
+  UGC("ugc"),
+  UP("up"),
+  VERSION_HISTORY("version-history"),
+  VIA("via"),
+  WEBMENTION("webmention"),
+  WORKING_COPY("working-copy"),
+  WORKING_COPY_OF("working-copy-of");
+
+  // number of slots of the hash table, a power of two
+  private static final int TABLE_SIZE = 2048;
+
+  private static final RelationType[] VALUES = values();
+
+  private static final int MULTIPLIER;
+  private static final RelationType[] TABLE = new RelationType[TABLE_SIZE];
+
+  static {
+    int multiplier = findMultiplier();
+    for (RelationType type : VALUES) {
+      TABLE[slot(type.value, 0, type.value.length(), multiplier)] = type;
+    }
+    MULTIPLIER = multiplier;
+  }
+
+  private final String value;
+
+  RelationType(String value) {
+    this.value = value;
+  }
+
+  /**
+   * Returns the relation type as registered, in lower case.
+   *
+   * @return the registered name of the relation type
+   */
+  public String value() {
+    return value;
+  }
+
+  /**
+   * Looks up a registered relation type, ignoring case.
+   *
+   * @param relationType the relation type
+   * @return the registered relation type, or {@link Optional#empty()} for an extension relation
+   * type
+   * @throws NullPointerException if the relation type is {@code null}
+   */
+  public static Optional<RelationType> lookup(CharSequence relationType)
+      throws NullPointerException {
+    return Optional.ofNullable(lookup(relationType, 0, relationType.length()));
+  }
+
+  /**
+   * Looks up a registered relation type in a span of a text, ignoring case.
+   *
+   * @param text  the text containing the relation type
+   * @param start the start of the relation type in the text, inclusive
+   * @param end   the end of the relation type in the text, exclusive
+   * @return the registered relation type, or {@code null} for an extension relation type
+   * @throws IndexOutOfBoundsException if the span is not within the text
+   */
+  public static RelationType lookup(CharSequence text, int start, int end)
+      throws IndexOutOfBoundsException {
+    int slot = slot(text, start, end, MULTIPLIER);
+    if (slot < 0) {
+      return null;
+    }
+    var candidate = TABLE[slot];
+    if (candidate == null || candidate.value.length() != end - start) {
+      return null;
+    }
+    for (int i = start; i < end; i++) {
+      if (toLowerCase(text.charAt(i)) != candidate.value.charAt(i - start)) {
+        return null;
+      }
+    }
+    return candidate;
+  }
+
+  /**
+   * Hashes the lower-case form of the span into a slot of the table.
+   *
+   * @return the slot, or -1 if the span contains characters that no relation type contains
+   */
+  private static int slot(CharSequence text, int start, int end, int multiplier) {
+    int hash = 0;
+    for (int i = start; i < end; i++) {
+      char c = text.charAt(i);
+      if (c > 0x7F) {
+        return -1;
+      }
+      hash = hash * multiplier + toLowerCase(c);
+    }
+    hash ^= hash >>> 16;
+    return (hash * 0x9E3779B1 >>> 16) & (TABLE_SIZE - 1);
+  }
+
+  private static int findMultiplier() {
+    var used = new boolean[TABLE_SIZE];
+    for (int multiplier = 31; multiplier < 1_000_000; multiplier += 2) {
+      Arrays.fill(used, false);
+      boolean collisionFree = true;
+      for (RelationType type : VALUES) {
+        int slot = slot(type.value, 0, type.value.length(), multiplier);
+        if (used[slot]) {
+          collisionFree = false;
+          break;
+        }
+        used[slot] = true;
+      }
+      if (collisionFree) {
+        return multiplier;
+      }
+    }
+    throw new IllegalStateException("No collision-free hash for the relation types");
+  }
+
+  private static char toLowerCase(char c) {
+    return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+  }
+}
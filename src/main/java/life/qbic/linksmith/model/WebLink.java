@@ -1,7 +1,9 @@
 package life.qbic.linksmith.model;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -11,6 +13,7 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import life.qbic.linksmith.core.RfcLinkParameter;
+import life.qbic.linksmith.internal.parsing.RelationTypeList;
 
 /**
  * A semantic view of a single Web Linking relation as modeled by the HTTP {@code Link} header field
@@ -19,7 +22,7 @@ import life.qbic.linksmith.core.RfcLinkParameter;
  * <b>Scope and intent</b><br>
  * This record represents one <i>link</i> consisting of:
  * <ul>
- *   <li>a mandatory {@linkplain #target() target URI} (the link target), and</li>
+ *   <li>a mandatory {@linkplain #linkTarget() link target}, and</li>
  *   <li>a list of {@linkplain #params() parameters} (link-params / target attributes)</li>
  * </ul>
  * The record does not attempt to fully enforce all RFC constraints at construction time.
@@ -48,11 +51,44 @@ import life.qbic.linksmith.core.RfcLinkParameter;
  * rules in the RFC (e.g. {@code rel} is specified as not appearing more than once in a given
  * link-value). This model exposes values as found in {@link #params()} and provides deterministic
  * accessors (e.g. {@link #type()} returns the first occurrence).
+ * <p>
+ * <b>Target</b><br>
+ * The target is kept as {@link LinkTarget}, so the {@link URI} is only created when
+ * {@link #target()} is called. Consumers that only need the reference as string can use
+ * {@code linkTarget().reference()}.
+ * <p>
+ * <b>Compatibility</b><br>
+ * Up to version 1.0.0, the record component was {@code URI target}. The constructor
+ * {@link #WebLink(URI, List)} and the accessor {@link #target()} are kept, but record patterns
+ * deconstruct a {@link LinkTarget} now, and links are equal if their target references are equal
+ * character by character, where {@link URI#equals(Object)} ignores the case of scheme and host.
  *
- * @param target the target of the link (the URI inside {@code <...>} in the HTTP serialization)
- * @param params the list of link parameters / target attributes associated with the link
+ * @param linkTarget the target of the link (the URI inside {@code <...>} in the HTTP
+ *                   serialization)
+ * @param params     the list of link parameters / target attributes associated with the link
  */
-public record WebLink(URI target, List<WebLinkParameter> params) {
+public record WebLink(LinkTarget linkTarget, List<WebLinkParameter> params) {
+
+  /**
+   * Creates a new {@link WebLink} instance for a target URI.
+   *
+   * @param target the target URI of the link
+   * @param params the link parameters associated with the target
+   * @throws NullPointerException if {@code target} is {@code null}
+   */
+  public WebLink(URI target, List<WebLinkParameter> params) throws NullPointerException {
+    this(LinkTarget.of(target), params);
+  }
+
+  /**
+   * Returns the target of the link as {@link URI}. The URI is created on the first call and kept
+   * by the {@link #linkTarget()}.
+   *
+   * @return the target URI
+   */
+  public URI target() {
+    return linkTarget.uri();
+  }
 
   /**
    * Creates a new {@link WebLink} instance.
@@ -153,6 +189,74 @@ public record WebLink(URI target, List<WebLinkParameter> params) {
         .toList();
   }
 
+  /**
+   * Returns the registered relation types conveyed by the {@code rel} parameter(s).
+   * <p>
+   * Relation types are looked up in the {@link RelationType} registry without creating strings.
+   * Extension relation types are not contained, see {@link #extensionRel()}.
+   *
+   * @return the registered relation types, or an empty set if there are none
+   */
+  public Set<RelationType> registeredRel() {
+    var relationTypes = EnumSet.noneOf(RelationType.class);
+    forEachRelationType((value, start, end) -> {
+      var relationType = RelationType.lookup(value, start, end);
+      if (relationType != null) {
+        relationTypes.add(relationType);
+      }
+      return false;
+    });
+    return relationTypes;
+  }
+
+  /**
+   * Returns the extension relation types conveyed by the {@code rel} parameter(s), i.e. the
+   * relation types that are not registered (see {@link RelationType}), in encounter order.
+   *
+   * @return the extension relation types, or an empty list if there are none
+   */
+  public List<String> extensionRel() {
+    var relationTypes = new ArrayList<String>();
+    forEachRelationType((value, start, end) -> {
+      if (RelationType.lookup(value, start, end) == null) {
+        relationTypes.add(value.substring(start, end));
+      }
+      return false;
+    });
+    return relationTypes;
+  }
+
+  /**
+   * Evaluates if the link has a registered relation type in one of its {@code rel} parameters.
+   * <p>
+   * Unlike a search in {@link #rel()}, neither lists nor strings are created.
+   *
+   * @param relationType the registered relation type to look for
+   * @return {@code true}, if the link has the relation type, else {@code false}
+   * @throws NullPointerException if the relation type is {@code null}
+   */
+  public boolean hasRel(RelationType relationType) throws NullPointerException {
+    Objects.requireNonNull(relationType);
+    return forEachRelationType(
+        (value, start, end) -> RelationType.lookup(value, start, end) == relationType);
+  }
+
+  /**
+   * Passes the whitespace-separated relation types of all {@code rel} parameters to the consumer,
+   * until it asks to stop.
+   *
+   * @return {@code true}, if the consumer stopped, else {@code false}
+   */
+  private boolean forEachRelationType(RelationTypeList.Consumer consumer) {
+    for (WebLinkParameter param : params) {
+      if (isRelParameter(param) && param.value() != null
+          && RelationTypeList.forEach(param.value(), consumer)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Returns all reverse relation types conveyed by the {@code rev} parameter(s).
    * <p>
@@ -0,0 +1,16 @@
+package life.qbic.linksmith.spi;
+
+import java.util.List;
+import life.qbic.linksmith.internal.lexing.WebLinkToken;
+
+/**
+ * Marker for token lists that are guaranteed to be in ascending order by
+ * {@link WebLinkToken#position()} and to end with an EOF token.
+ * <p>
+ * {@link WebLinkParser} implementations can rely on the order of such lists and index them
+ * directly, instead of sorting a copy first. Lexers should only return this type if every list
+ * they produce fulfills the guarantee.
+ */
+public interface OrderedTokenList extends List<WebLinkToken> {
+
+}
@@ -0,0 +1,54 @@
+package life.qbic.linksmith.spi;
+
+/**
+ * Callback interface for consumers that react to the links of a Link header while it is parsed,
+ * without building any intermediate representation of the header.
+ * <p>
+ * For every link-value, the handler receives {@link #startLink(CharSequence)}, then one
+ * {@link #param(CharSequence, CharSequence)} call per link-param in the order of the header, and
+ * finally {@link #endLink()}.
+ * <p>
+ * The character sequences passed to the callbacks are views into the header that are reused for
+ * the next event. They are only valid until the callback returns, so handlers that need a value
+ * later must copy it with {@link CharSequence#toString()}. To compare a sequence with a string,
+ * use {@link String#contentEquals(CharSequence)}.
+ * <p>
+ * Events are pushed while the header is scanned. If the header turns out to be malformed, the
+ * exception is thrown after the events for the well-formed part preceding the error have been
+ * delivered.
+ */
+public interface WebLinkHandler {
+
+  /**
+   * Called when a new link-value starts.
+   *
+   * @param uri the raw URI-Reference of the link target, without the angle brackets
+   */
+  void startLink(CharSequence uri);
+
+  /**
+   * Called for every parameter of the current link-value.
+   *
+   * @param name  the raw parameter name
+   * @param value the raw parameter value, unquoted and unescaped, or {@code null} if the parameter
+   *              has no value
+   */
+  void param(CharSequence name, CharSequence value);
+
+  /**
+   * Called when the current link-value ends.
+   */
+  void endLink();
+
+  /**
+   * Evaluates if the handler needs no further links.
+   * <p>
+   * The method is called after every {@link #endLink()}. Once it returns {@code true}, parsing
+   * stops without scanning the rest of the header, so a malformed remainder is not reported.
+   *
+   * @return {@code true}, if parsing shall stop, else {@code false}
+   */
+  default boolean isDone() {
+    return false;
+  }
+}
@@ -1,6 +1,9 @@
 package life.qbic.linksmith.spi;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Objects;
 import life.qbic.linksmith.internal.lexing.WebLinkToken;
 
 /**
@@ -19,17 +22,157 @@ public interface WebLinkLexer {
    */
   List<WebLinkToken> lex(String input) throws LexingException;
 
+  /**
+   * Lex the remaining bytes of the given buffer into a sequence of tokens.
+   * <p>
+   * Header field values are serialised as ASCII, every byte is interpreted as one ISO-8859-1
+   * character. The position and limit of the buffer must not be modified, token positions are
+   * relative to the position of the buffer. The returned tokens must not refer to the buffer, so
+   * callers can reuse it as soon as this method returns.
+   * <p>
+   * The default implementation decodes the bytes into a string and delegates to
+   * {@link #lex(String)}. Implementations are encouraged to scan the bytes directly.
+   *
+   * @param input the raw Link header field-value or link-value as bytes
+   * @return list of tokens ending with an EOF token
+   * @throws LexingException      if the input is not lexically well-formed
+   * @throws NullPointerException if the buffer is {@code null}
+   */
+  default List<WebLinkToken> lex(ByteBuffer input) throws LexingException, NullPointerException {
+    return lex(StandardCharsets.ISO_8859_1.decode(input.duplicate()).toString());
+  }
+
+  /**
+   * Lex a slice of the given byte array into a sequence of tokens.
+   * <p>
+   * Same as {@link #lex(ByteBuffer)}, token positions are relative to {@code offset}.
+   *
+   * @param input  the array holding the raw Link header field-value or link-value
+   * @param offset the index of the first byte to lex
+   * @param length the number of bytes to lex
+   * @return list of tokens ending with an EOF token
+   * @throws LexingException           if the input is not lexically well-formed
+   * @throws NullPointerException      if the array is {@code null}
+   * @throws IndexOutOfBoundsException if the slice is out of the array bounds
+   */
+  default List<WebLinkToken> lex(byte[] input, int offset, int length)
+      throws LexingException, NullPointerException, IndexOutOfBoundsException {
+    Objects.checkFromIndexSize(offset, length, input.length);
+    return lex(new String(input, offset, length, StandardCharsets.ISO_8859_1));
+  }
+
+  /**
+   * Creates a pull-based cursor over the tokens of the given input string.
+   * <p>
+   * The default implementation lexes the full input with {@link #lex(String)} and adapts the
+   * token list. Lexers that report {@link #supportsStreaming()} produce the tokens on demand
+   * instead, so no token list is materialised.
+   *
+   * @param input the raw Link header field-value or link-value
+   * @return a cursor positioned on the first token
+   * @throws LexingException if the input is not lexically well-formed
+   */
+  default WebLinkTokenCursor cursor(String input) throws LexingException {
+    return WebLinkTokenCursor.of(lex(input));
+  }
+
+  /**
+   * Creates a pull-based cursor over the tokens of the remaining bytes of the given buffer.
+   * <p>
+   * Same as {@link #cursor(String)}, the default implementation adapts the result of
+   * {@link #lex(ByteBuffer)}. Streaming cursors may read the buffer until they reach EOF, so its
+   * bytes must stay unchanged as long as the cursor is in use.
+   *
+   * @param input the raw Link header field-value or link-value as bytes
+   * @return a cursor positioned on the first token
+   * @throws LexingException      if the input is not lexically well-formed
+   * @throws NullPointerException if the buffer is {@code null}
+   */
+  default WebLinkTokenCursor cursor(ByteBuffer input) throws LexingException, NullPointerException {
+    return WebLinkTokenCursor.of(lex(input));
+  }
+
+  /**
+   * Creates a cursor over the tokens of the given input string and may reuse a cursor this lexer
+   * has created before, which avoids allocating a new cursor for every header.
+   * <p>
+   * The caller hands over the reusable cursor and must not use it anymore, unless it is returned
+   * again. Lexers ignore cursors they have not created themselves. The default implementation
+   * always delegates to {@link #cursor(String)}.
+   *
+   * @param input    the raw Link header field-value or link-value
+   * @param reusable a cursor that is no longer in use, or {@code null}
+   * @return a cursor positioned on the first token, which may be the reused cursor
+   * @throws LexingException if the input is not lexically well-formed
+   */
+  default WebLinkTokenCursor cursor(String input, WebLinkTokenCursor reusable)
+      throws LexingException {
+    return cursor(input);
+  }
+
+  /**
+   * Creates a cursor over the tokens of the remaining bytes of the given buffer and may reuse a
+   * cursor this lexer has created before, same as {@link #cursor(String, WebLinkTokenCursor)}.
+   * <p>
+   * The default implementation always delegates to {@link #cursor(ByteBuffer)}.
+   *
+   * @param input    the raw Link header field-value or link-value as bytes
+   * @param reusable a cursor that is no longer in use, or {@code null}
+   * @return a cursor positioned on the first token, which may be the reused cursor
+   * @throws LexingException      if the input is not lexically well-formed
+   * @throws NullPointerException if the buffer is {@code null}
+   */
+  default WebLinkTokenCursor cursor(ByteBuffer input, WebLinkTokenCursor reusable)
+      throws LexingException, NullPointerException {
+    return cursor(input);
+  }
+
+  /**
+   * Indicates whether the cursors of this lexer produce their tokens lazily while being advanced.
+   * <p>
+   * Only in this case, processing a header via a cursor saves memory compared to a token list.
+   *
+   * @return {@code true}, if {@link #cursor(String)} lexes on demand, else {@code false}
+   */
+  default boolean supportsStreaming() {
+    return false;
+  }
+
   /**
    * Thrown when the input cannot be tokenised according to the Web Link lexical rules.
+   * <p>
+   * The exception describes malformed input, not a programming error, so it does not capture a
+   * stack trace. This keeps rejecting malformed headers cheap.
    */
   class LexingException extends RuntimeException {
 
+    private final int position;
+
     public LexingException(String message) {
-      super(message);
+      this(message, -1);
+    }
+
+    /**
+     * @param message  the description of the error
+     * @param position the zero-based position in the input where the error was found
+     */
+    public LexingException(String message, int position) {
+      super(message, null, false, false);
+      this.position = position;
     }
 
     public LexingException(String message, Throwable cause) {
-      super(message, cause);
+      super(message, cause, false, false);
+      this.position = -1;
+    }
+
+    /**
+     * Returns the position in the input where the error was found.
+     *
+     * @return the zero-based position, or {@code -1} if unknown
+     */
+    public int position() {
+      return position;
     }
   }
 
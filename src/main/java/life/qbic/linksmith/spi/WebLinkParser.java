@@ -1,7 +1,9 @@
 package life.qbic.linksmith.spi;
 
+import java.util.ArrayList;
 import java.util.List;
 import life.qbic.linksmith.internal.lexing.WebLinkToken;
+import life.qbic.linksmith.internal.lexing.WebLinkTokenType;
 import life.qbic.linksmith.internal.parsing.RawLinkHeader;
 
 /**
@@ -39,6 +41,9 @@ public interface WebLinkParser {
    * <p>
    * The returned value is an AST of a raw link header with a list of raw web link items that can be
    * used for semantic validation.
+   * <p>
+   * Lexers mark lists whose order can be trusted as {@link OrderedTokenList}, which parsers can
+   * index directly without sorting.
    *
    * @param tokens a list of web link tokens to process
    * @return a raw link header parsed from the web link tokens
@@ -47,13 +52,73 @@ public interface WebLinkParser {
    */
   RawLinkHeader parse(List<WebLinkToken> tokens) throws NullPointerException, StructureException;
 
+  /**
+   * Parses the tokens of a {@link WebLinkTokenCursor} and performs structural validation based on
+   * the RFC 8288 serialisation requirement.
+   * <p>
+   * The default implementation drains the cursor into a token list and delegates to
+   * {@link #parse(List)}. Parsers that report {@link #supportsStreaming()} consume the cursor
+   * directly without buffering tokens.
+   *
+   * @param cursor a cursor positioned on the first token to parse
+   * @return a raw link header parsed from the web link tokens
+   * @throws NullPointerException if the cursor is {@code null}
+   * @throws StructureException   if any structural violation occurred
+   */
+  default RawLinkHeader parse(WebLinkTokenCursor cursor)
+      throws NullPointerException, StructureException {
+    var tokens = new ArrayList<WebLinkToken>();
+    var type = cursor.peekType();
+    while (true) {
+      tokens.add(WebLinkToken.of(type, cursor.text(), cursor.startOffset()));
+      if (type == WebLinkTokenType.EOF) {
+        return parse(tokens);
+      }
+      type = cursor.next();
+    }
+  }
+
+  /**
+   * Indicates whether this parser consumes a {@link WebLinkTokenCursor} directly, without
+   * buffering its tokens.
+   *
+   * @return {@code true}, if {@link #parse(WebLinkTokenCursor)} does not buffer tokens, else
+   * {@code false}
+   */
+  default boolean supportsStreaming() {
+    return false;
+  }
+
   /**
    * Indicates a structural violation of the RFC 8288 web link serialisation requirement.
+   * <p>
+   * The exception describes malformed input, not a programming error, so it does not capture a
+   * stack trace. This keeps rejecting malformed headers cheap.
    */
   class StructureException extends RuntimeException {
 
+    private final int position;
+
     public StructureException(String message) {
-      super(message);
+      this(message, -1);
+    }
+
+    /**
+     * @param message  the description of the violation
+     * @param position the zero-based position of the token that violates the structure
+     */
+    public StructureException(String message, int position) {
+      super(message, null, false, false);
+      this.position = position;
+    }
+
+    /**
+     * Returns the position of the token that violates the structure.
+     *
+     * @return the zero-based position, or {@code -1} if unknown
+     */
+    public int position() {
+      return position;
     }
   }
 }
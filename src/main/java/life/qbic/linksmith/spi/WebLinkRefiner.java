@@ -0,0 +1,42 @@
+package life.qbic.linksmith.spi;
+
+import java.util.List;
+import life.qbic.linksmith.model.WebLink;
+import life.qbic.linksmith.spi.WebLinkValidator.IssueReport;
+import life.qbic.linksmith.spi.WebLinkValidator.ValidationResult;
+
+/**
+ * Performs additional checks on web links that have already been converted by a
+ * {@link WebLinkValidator}.
+ * <p>
+ * Where every validator converts the raw link header into web links of its own, refiners run
+ * after the conversion and receive its web links. A refiner only adds issues and may filter the
+ * links, e.g. to enforce a profile such as FAIR Signposting on top of RFC 8288. Several checks on
+ * the same header therefore need a single conversion.
+ * <p>
+ * Like validators, refiners must not throw on violations but record them in the
+ * {@link IssueReport} of the returned {@link ValidationResult}.
+ * <p>
+ * Refiners are not told the {@link WebLinkValidator.ValidationMode} and always check all given
+ * links. In {@link WebLinkValidator.ValidationMode#FAIL_FAST} mode, the processor only runs a
+ * refiner if the validators and the preceding refiners reported no error, and runs no further
+ * refiner once a refiner reports an error. In this mode, a refiner therefore only receives the
+ * complete web links of an error-free validation.
+ */
+@FunctionalInterface
+public interface WebLinkRefiner {
+
+  /**
+   * Checks the given web links.
+   * <p>
+   * The returned result contains the web links to keep, in the given order, and the issues found
+   * by this refiner only. A refiner that does not filter returns the given links. The check must
+   * not be interrupted on violations, also in {@link WebLinkValidator.ValidationMode#FAIL_FAST}
+   * mode, where the processor stops after this refiner instead.
+   *
+   * @param weblinks the web links converted by the validators, or kept by the preceding refiners
+   * @return the kept web links and an {@link IssueReport} with the issues of this refiner
+   * @throws NullPointerException if the web links are {@code null}
+   */
+  ValidationResult refine(List<WebLink> weblinks) throws NullPointerException;
+}
@@ -0,0 +1,78 @@
+package life.qbic.linksmith.spi;
+
+import java.util.List;
+import life.qbic.linksmith.internal.lexing.TokenListCursor;
+import life.qbic.linksmith.internal.lexing.WebLinkToken;
+import life.qbic.linksmith.internal.lexing.WebLinkTokenType;
+import life.qbic.linksmith.spi.WebLinkLexer.LexingException;
+
+/**
+ * A pull-based stream of Web Link tokens.
+ * <p>
+ * The cursor is always positioned on a current token, which is the next token to be consumed by
+ * the caller. {@link #next()} consumes the current token and moves on to the following one. The
+ * last token of every cursor is an EOF token; once the cursor has reached it, {@link #next()}
+ * keeps returning EOF.
+ * <p>
+ * Lexers can produce tokens lazily while the cursor is advanced, so lexing errors may surface as
+ * {@link LexingException} from any method of the cursor, not only on its creation.
+ * <p>
+ * Cursors are stateful and must be confined to a single thread.
+ */
+public interface WebLinkTokenCursor {
+
+  /**
+   * Creates a cursor over an already lexed token list.
+   * <p>
+   * The list is expected to end with an EOF token. If it does not, the cursor stays on the last
+   * token of the list once it has been reached.
+   *
+   * @param tokens the tokens in ascending order by position
+   * @return a cursor over the token list
+   * @throws NullPointerException     if the token list is {@code null}
+   * @throws IllegalArgumentException if the token list is empty
+   */
+  static WebLinkTokenCursor of(List<WebLinkToken> tokens)
+      throws NullPointerException, IllegalArgumentException {
+    return new TokenListCursor(tokens);
+  }
+
+  /**
+   * Returns the type of the current token without consuming it.
+   *
+   * @return the type of the current token
+   * @throws LexingException if the current token could not be lexed
+   */
+  WebLinkTokenType peekType() throws LexingException;
+
+  /**
+   * Consumes the current token and advances to the next one.
+   *
+   * @return the type of the new current token
+   * @throws LexingException if the next token could not be lexed
+   */
+  WebLinkTokenType next() throws LexingException;
+
+  /**
+   * Returns the zero-based start offset of the current token in the input, which is the same as
+   * {@link WebLinkToken#position()}.
+   *
+   * @return the start offset of the current token
+   */
+  int startOffset();
+
+  /**
+   * Returns the zero-based end offset (exclusive) of the current token text in the input.
+   *
+   * @return the end offset of the current token
+   */
+  int endOffset();
+
+  /**
+   * Creates the text of the current token (without decorations like quotes), same as
+   * {@link WebLinkToken#text()}.
+   *
+   * @return the text of the current token
+   */
+  String text();
+}
@@ -1,7 +1,12 @@
 package life.qbic.linksmith.spi;
 
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import life.qbic.linksmith.model.WebLink;
+import life.qbic.linksmith.internal.parsing.CompactRawLinkHeader;
 import life.qbic.linksmith.internal.parsing.RawLinkHeader;
 
 /**
@@ -12,8 +17,11 @@ import life.qbic.linksmith.internal.parsing.RawLinkHeader;
  * <p>
  * Implementations of the {@link WebLinkValidator} interface must perform semantic validation only.
  * <p>
- * Implementations also must not interrupt the validation on violations but provide the information
- * in the attached {@link IssueReport} of the {@link ValidationResult}.
+ * Implementations also must not throw on violations but provide the information in the attached
+ * {@link IssueReport} of the {@link ValidationResult}. By default, the validation must not be
+ * interrupted on violations either. Only when called with {@link ValidationMode#FAIL_FAST}, an
+ * implementation may stop at the first error, see
+ * {@link #validate(RawLinkHeader, ValidationMode)}.
  */
 public interface WebLinkValidator {
 
@@ -29,7 +37,9 @@ public interface WebLinkValidator {
    * use the web link object in the semantic scope that the validator guarantees.
    * <p>
    * The implementation MUST NOT interrupt the validation in case any error is recorded. Validation
-   * shall always complete successfully and the method return the validation result.
+   * shall always complete successfully and the method return the validation result. This is the
+   * {@link ValidationMode#COMPLETE} mode, stopping early is only allowed in
+   * {@link #validate(RawLinkHeader, ValidationMode)}.
    *
    * @param rawLinkHeader the raw link header
    * @return the validation result with a list of web link objects and an {@link IssueReport}.
@@ -37,6 +47,77 @@ public interface WebLinkValidator {
    */
   ValidationResult validate(RawLinkHeader rawLinkHeader) throws NullPointerException;
 
+  /**
+   * Validates the given raw link header in its compact form, with the same contract as
+   * {@link #validate(RawLinkHeader)}.
+   * <p>
+   * The default implementation validates the record-based view of the header (see
+   * {@link CompactRawLinkHeader#toRawLinkHeader()}). Validators that walk the compact form
+   * directly avoid creating the view.
+   *
+   * @param rawLinkHeader the raw link header in compact form
+   * @return the validation result with a list of web link objects and an {@link IssueReport}.
+   * @throws NullPointerException if the raw link header is {@code null}
+   */
+  default ValidationResult validate(CompactRawLinkHeader rawLinkHeader)
+      throws NullPointerException {
+    return validate(rawLinkHeader.toRawLinkHeader());
+  }
+
+  /**
+   * Validates the given raw link header in the given mode.
+   * <p>
+   * In {@link ValidationMode#COMPLETE} mode, the contract is the same as for
+   * {@link #validate(RawLinkHeader)}. In {@link ValidationMode#FAIL_FAST} mode, the validator MAY
+   * stop at the first recorded error, without converting the remaining links. The method must
+   * still return normally and not throw on violations. The result then contains at least that
+   * error, and the web links converted so far, which are incomplete.
+   * <p>
+   * Validators can rely on a processor in fail-fast mode to call them only after the preceding
+   * validators reported no error, and to call no further validator or refiner once their result
+   * contains an error. A result without errors must be complete, like in
+   * {@link ValidationMode#COMPLETE} mode.
+   * <p>
+   * The default implementation ignores the mode and always validates completely.
+   *
+   * @param rawLinkHeader the raw link header
+   * @param mode          the validation mode
+   * @return the validation result with a list of web link objects and an {@link IssueReport}.
+   * @throws NullPointerException if the raw link header or mode is {@code null}
+   */
+  default ValidationResult validate(RawLinkHeader rawLinkHeader, ValidationMode mode)
+      throws NullPointerException {
+    return validate(rawLinkHeader);
+  }
+
+  /**
+   * Validates the given raw link header in its compact form in the given mode, see
+   * {@link #validate(RawLinkHeader, ValidationMode)}.
+   * <p>
+   * The default implementation ignores the mode and always validates completely.
+   *
+   * @param rawLinkHeader the raw link header in compact form
+   * @param mode          the validation mode
+   * @return the validation result with a list of web link objects and an {@link IssueReport}.
+   * @throws NullPointerException if the raw link header or mode is {@code null}
+   */
+  default ValidationResult validate(CompactRawLinkHeader rawLinkHeader, ValidationMode mode)
+      throws NullPointerException {
+    return validate(rawLinkHeader);
+  }
+
+  /**
+   * Indicates whether this validator checks every link independently of the other links of the
+   * header, in header order. Such a validator can validate consecutive parts of a header
+   * separately, and the concatenated results equal the result for the whole header.
+   *
+   * @return {@code true}, if the validation of a link does not depend on other links, else
+   * {@code false}
+   */
+  default boolean supportsPartialHeaders() {
+    return false;
+  }
+
   /**
    * A summary of the validation with the final web links for further use and an issue report with
    * validation warnings or violations.
@@ -73,18 +154,67 @@ public interface WebLinkValidator {
     public boolean isEmpty() {
       return issues.isEmpty();
     }
+
+    /**
+     * Counts the issues per code, without rendering their messages.
+     *
+     * @return the number of issues of every code that occurs in the report
+     */
+    public Map<IssueCode, Integer> countByCode() {
+      var counts = new EnumMap<IssueCode, Integer>(IssueCode.class);
+      for (Issue issue : issues) {
+        counts.merge(issue.code(), 1, Integer::sum);
+      }
+      return counts;
+    }
   }
 
   /**
    * Describes any deviations from a semantic model either as warning or error.
-   *
-   * @param message a descriptive message that helps clients to process the issue
-   * @param type    the severity level of the issue. {@link IssueType#ERROR} shall be used to
-   *                indicate serious violations from the semantic model that would lead to wrong
-   *                interpretation by the client. For less severe deviations the
-   *                {@link IssueType#WARNING} can be used.
+   * <p>
+   * An issue is identified by an {@link IssueCode} and the arguments of its message. The message
+   * is only rendered from the {@link IssueCode#template() template} of the code when
+   * {@link #message()} is called, so clients that only count or check issues do not pay for
+   * formatting. Issues created with a plain message have the code {@link IssueCode#CUSTOM}.
+   * <p>
+   * Two issues are equal if they have the same type, code and arguments, so neither
+   * {@link #equals(Object)} nor {@link #hashCode()} render the message. An issue with a code is
+   * therefore not equal to a plain issue with the same message.
+   * <p>
+   * Up to version 1.0.0, {@code Issue} was the record {@code Issue(String message, IssueType type)}.
+   * The constructor, the factory methods and the accessors {@link #message()} and {@link #type()}
+   * are kept, record patterns are no longer supported.
    */
-  record Issue(String message, IssueType type) {
+  final class Issue {
+
+    private final IssueCode code;
+    private final IssueType type;
+    private final Object[] arguments;
+
+    // rendered on demand, a racing thread at most renders an equal string
+    private String message;
+
+    /**
+     * Creates an issue with a plain message.
+     *
+     * @param message a descriptive message that helps clients to process the issue
+     * @param type    the severity level of the issue. {@link IssueType#ERROR} shall be used to
+     *                indicate serious violations from the semantic model that would lead to wrong
+     *                interpretation by the client. For less severe deviations the
+     *                {@link IssueType#WARNING} can be used.
+     */
+    public Issue(String message, IssueType type) {
+      this.code = IssueCode.CUSTOM;
+      this.type = type;
+      this.arguments = new Object[]{message};
+      this.message = message;
+    }
+
+    private Issue(IssueCode code, IssueType type, Object[] arguments) {
+      this.code = Objects.requireNonNull(code);
+      this.type = type;
+      this.arguments = arguments.clone();
+    }
 
     public static Issue warning(String message) {
       return new Issue(message, IssueType.WARNING);
@@ -94,6 +224,63 @@ public interface WebLinkValidator {
       return new Issue(message, IssueType.ERROR);
     }
 
+    /**
+     * Creates a warning with a code. The arguments must be immutable, e.g. strings or numbers,
+     * since the message is rendered later.
+     *
+     * @param code      the code of the issue
+     * @param arguments the arguments of the message template of the code
+     * @return the issue
+     * @throws NullPointerException if the code is {@code null}
+     */
+    public static Issue warning(IssueCode code, Object... arguments) throws NullPointerException {
+      return new Issue(code, IssueType.WARNING, arguments);
+    }
+
+    /**
+     * Creates an error with a code. The arguments must be immutable, e.g. strings or numbers,
+     * since the message is rendered later.
+     *
+     * @param code      the code of the issue
+     * @param arguments the arguments of the message template of the code
+     * @return the issue
+     * @throws NullPointerException if the code is {@code null}
+     */
+    public static Issue error(IssueCode code, Object... arguments) throws NullPointerException {
+      return new Issue(code, IssueType.ERROR, arguments);
+    }
+
+    /**
+     * Returns the message of the issue, rendering it on the first call.
+     *
+     * @return a descriptive message that helps clients to process the issue
+     */
+    public String message() {
+      var rendered = message;
+      if (rendered == null) {
+        rendered = code.template().formatted(arguments);
+        message = rendered;
+      }
+      return rendered;
+    }
+
+    public IssueType type() {
+      return type;
+    }
+
+    public IssueCode code() {
+      return code;
+    }
+
+    /**
+     * Returns the arguments of the message template, e.g. the offending parameter name.
+     *
+     * @return the arguments in template order
+     */
+    public List<Object> arguments() {
+      return Arrays.asList(arguments.clone());
+    }
+
     public boolean isWarning() {
       return type.equals(IssueType.WARNING);
     }
@@ -101,6 +288,81 @@ public interface WebLinkValidator {
     public boolean isError() {
       return type.equals(IssueType.ERROR);
     }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Issue issue)) {
+        return false;
+      }
+      // same template and arguments render the same message, plain messages are the argument
+      return type == issue.type && code == issue.code && Arrays.equals(arguments, issue.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(code, type, Arrays.hashCode(arguments));
+    }
+
+    @Override
+    public String toString() {
+      return "Issue[message=%s, type=%s]".formatted(message(), type);
+    }
+  }
+
+  /**
+   * Stable codes of the issues reported by the validators and the processor of this library.
+   * <p>
+   * Each code has a message template in {@link String#format(String, Object...)} syntax, which is
+   * rendered with the arguments of the issue.
+   */
+  enum IssueCode {
+    /**
+     * An issue with a plain message, without a code of its own.
+     */
+    CUSTOM("%s"),
+    /**
+     * The target of a link is no valid URI-Reference. Arguments: the target, the reason.
+     */
+    INVALID_URI("Invalid URI '%s': %s"),
+    /**
+     * A parameter name contains characters that are not allowed in a token. Arguments: the name,
+     * the allowed characters.
+     */
+    INVALID_PARAMETER_NAME("Invalid parameter name '%s': Only the characters '%s' are allowed"),
+    /**
+     * An unquoted parameter value contains characters that are not allowed in a token.
+     * Arguments: the value, the parameter name, the allowed characters.
+     */
+    INVALID_PARAMETER_VALUE(
+        "Invalid value '%s' of parameter '%s': Only the characters '%s' are allowed unquoted"),
+    /**
+     * A parameter that must occur once per link occurs again and is skipped. Arguments: the
+     * parameter name.
+     */
+    DUPLICATE_PARAMETER("Parameter '%s' is not allowed multiple times. Skipped parameter."),
+    /**
+     * A malformed link-value has been skipped during recovering parsing. Arguments: the start and
+     * end position, the reason.
+     */
+    SKIPPED_LINK_VALUE("Skipped malformed link-value at positions %d to %d: %s");
+
+    private final String template;
+
+    IssueCode(String template) {
+      this.template = template;
+    }
+
+    /**
+     * Returns the message template of the code.
+     *
+     * @return the template in {@link String#format(String, Object...)} syntax
+     */
+    public String template() {
+      return template;
+    }
   }
 
   /**
@@ -115,4 +377,17 @@ public interface WebLinkValidator {
     WARNING,
     ERROR
   }
+
+  /**
+   * An enumeration of validation modes.
+   *
+   * <ul>
+   *   <li>COMPLETE - The whole header is validated and every issue is recorded</li>
+   *   <li>FAIL_FAST - Validation may stop at the first error, for clients that only need to know whether there is one. Validators and refiners may stop at their first error, and the processor runs no further validators and refiners after it</li>
+   * </ul>
+   */
+  enum ValidationMode {
+    COMPLETE,
+    FAIL_FAST
+  }
 }
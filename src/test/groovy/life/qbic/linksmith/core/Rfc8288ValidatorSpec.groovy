@@ -3,6 +3,8 @@ package life.qbic.linksmith.core
 
 import life.qbic.linksmith.model.WebLink
 import life.qbic.linksmith.spi.WebLinkValidator
+import life.qbic.linksmith.internal.lexing.TokenChars
+import life.qbic.linksmith.internal.parsing.DirectWebLinkParser
 import life.qbic.linksmith.internal.parsing.RawLink
 import life.qbic.linksmith.internal.parsing.RawLinkHeader
 import life.qbic.linksmith.internal.parsing.RawParam
@@ -298,4 +300,166 @@ class Rfc8288ValidatorSpec extends Specification {
         result.report().hasWarnings()
         result.report().issues().size() == 1
     }
+
+    def "validates the compact form of '#input' like its record view"() {
+        given:
+        def validator = Rfc8288WebLinkValidator.create()
+        def compact = DirectWebLinkParser.create().parseCompact(input)
+
+        expect:
+        validator.validate(compact) == validator.validate(compact.toRawLinkHeader())
+
+        where:
+        input << [
+                '<https://example.org/a>; rel="self next"; type=text/html',
+                '<relative/path>; rel=self',
+                '<https://example.org>; rel=a; rel=b; title=x; title=y; title*=UTF-8\'\'z',
+                '<https://example.org>; anchor; media; x-flag; hreflang=de; hreflang=en',
+                '<https://exa mple.org>; rel=self, <https://example.org>; rel=next',
+        ]
+    }
+
+    def "unquoted value '#input' is checked for token characters"() {
+        given:
+        def validator = Rfc8288WebLinkValidator.create()
+        def compact = DirectWebLinkParser.create().parseCompact(input)
+
+        when:
+        def result = validator.validate(compact)
+
+        then:
+        result == validator.validate(compact.toRawLinkHeader())
+        result.weblinks().size() == 1
+        result.report().issues()*.message().findAll { it.startsWith("Invalid value") } == messages
+
+        where:
+        input                                      | messages
+        '<https://example.org>; type="text/html"'  | []
+        '<https://example.org>; rel=self'          | []
+        '<https://example.org>; type=text/html'    | ["Invalid value 'text/html' of parameter 'type': Only the characters '${TokenChars.TCHARS}' are allowed unquoted"]
+        '<https://example.org>; title=sch\u00f6n' | ["Invalid value 'sch\u00f6n' of parameter 'title': Only the characters '${TokenChars.TCHARS}' are allowed unquoted"]
+    }
+
+    def "values without information on their serialisation are not checked"() {
+        given:
+        def rawLink = new RawLink("https://example.org", [new RawParam("type", "text/html")])
+
+        when:
+        def result = Rfc8288WebLinkValidator.create().validate(new RawLinkHeader([rawLink]))
+
+        then:
+        result.report().issues().isEmpty()
+    }
+
+    def "fail-fast validation of '#input' stops after the first link with an error"() {
+        given:
+        def validator = Rfc8288WebLinkValidator.create()
+        def compact = DirectWebLinkParser.create().parseCompact(input)
+
+        when:
+        def complete = validator.validate(compact)
+        def failFast = validator.validate(compact, WebLinkValidator.ValidationMode.FAIL_FAST)
+
+        then:
+        failFast == validator.validate(compact.toRawLinkHeader(), WebLinkValidator.ValidationMode.FAIL_FAST)
+        failFast.weblinks()*.target()*.toString() == links
+        failFast.report().issues() == complete.report().issues().take(issues)
+        failFast.report().hasErrors() == complete.report().hasErrors()
+
+        where:
+        input                                                                             | links                                           | issues
+        '<https://example.org/a>; rel=a; rel=b, <https://example.org/b>'                 | ["https://example.org/a", "https://example.org/b"] | 1
+        '<https://exa mple.org>, <https://example.org/b>; x=a/b, <https://example.org/c>' | []                                              | 1
+        '<https://example.org/a>, <https://example.org/b>; x=a/b; y=c/d, <https://c>'     | ["https://example.org/a", "https://example.org/b"] | 2
+    }
+
+    def "issues carry stable codes that can be counted without rendering messages"() {
+        given:
+        def header = '<https://exa mple.org>, <https://example.org>; rel=a; rel=b; title=x; title=y; x=a/b'
+
+        when:
+        def report = Rfc8288WebLinkValidator.create()
+                .validate(DirectWebLinkParser.create().parseCompact(header)).report()
+
+        then:
+        report.issues()*.code() == [
+                WebLinkValidator.IssueCode.INVALID_URI,
+                WebLinkValidator.IssueCode.DUPLICATE_PARAMETER,
+                WebLinkValidator.IssueCode.DUPLICATE_PARAMETER,
+                WebLinkValidator.IssueCode.INVALID_PARAMETER_VALUE]
+        report.countByCode() == [
+                (WebLinkValidator.IssueCode.INVALID_URI)            : 1,
+                (WebLinkValidator.IssueCode.DUPLICATE_PARAMETER)    : 2,
+                (WebLinkValidator.IssueCode.INVALID_PARAMETER_VALUE): 1]
+        report.issues()[1].arguments() == ["rel"]
+    }
+
+    def "coded issues render their message on demand and are compared by code and arguments"() {
+        given:
+        def renderings = 0
+        def argument = new Object() {
+            @Override
+            String toString() {
+                renderings++
+                return "rel"
+            }
+        }
+        def issue = WebLinkValidator.Issue.warning(WebLinkValidator.IssueCode.DUPLICATE_PARAMETER, argument)
+
+        expect:
+        renderings == 0
+        issue.isWarning()
+        issue.message() == "Parameter 'rel' is not allowed multiple times. Skipped parameter."
+        issue.message() == "Parameter 'rel' is not allowed multiple times. Skipped parameter."
+        renderings == 1
+        WebLinkValidator.Issue.error("plain").code() == WebLinkValidator.IssueCode.CUSTOM
+    }
+
+    def "issues are compared without rendering their messages"() {
+        given:
+        def renderings = 0
+        def argument = new Object() {
+            @Override
+            String toString() {
+                renderings++
+                return "rel"
+            }
+        }
+        def issue = WebLinkValidator.Issue.warning(WebLinkValidator.IssueCode.DUPLICATE_PARAMETER, argument)
+        def same = WebLinkValidator.Issue.warning(WebLinkValidator.IssueCode.DUPLICATE_PARAMETER, argument)
+
+        expect:
+        issue == same
+        issue.hashCode() == same.hashCode()
+        issue != WebLinkValidator.Issue.error(WebLinkValidator.IssueCode.DUPLICATE_PARAMETER, argument)
+        issue != WebLinkValidator.Issue.warning(WebLinkValidator.IssueCode.DUPLICATE_PARAMETER, "title")
+        issue != WebLinkValidator.Issue.warning(WebLinkValidator.IssueCode.INVALID_PARAMETER_NAME, argument)
+        renderings == 0
+
+        and: "plain issues are compared by their message"
+        WebLinkValidator.Issue.warning("plain") == WebLinkValidator.Issue.warning("plain")
+        WebLinkValidator.Issue.warning("plain").hashCode() == WebLinkValidator.Issue.warning("plain").hashCode()
+        WebLinkValidator.Issue.warning("plain") != WebLinkValidator.Issue.error("plain")
+    }
+
+    def "targets are accepted exactly like URI accepts them (#reference)"() {
+        given:
+        def rawHeader = new RawLinkHeader([new RawLink(reference, [new RawParam("rel", "next")])])
+
+        when:
+        def result = Rfc8288WebLinkValidator.create().validate(rawHeader)
+
+        then: "every link that validates cleanly yields its URI"
+        result.report().hasErrors() == !valid
+        result.weblinks()*.target() == (valid ? [URI.create(reference)] : [])
+
+        where:
+        reference                                      | valid
+        "https://api.example.com/items?page[number]=2" | true
+        "https://example.org/#section[1]"              | true
+        "http://[2001:db8::1]/"                        | true
+        "http://[]"                                    | false
+        "http://[.]"                                   | false
+        "https://example.org/a[b]"                     | false
+    }
 }
@@ -0,0 +1,147 @@
+package life.qbic.linksmith.core
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import spock.lang.Specification
+
+/**
+ * Specification for {@link TargetCache}.
+ */
+class TargetCacheSpec extends Specification {
+
+    def "repeated targets are answered from the cache"() {
+        given:
+        def cache = TargetCache.create(16, 1024)
+
+        when:
+        def first = cache.parse("https://example.org/license")
+        def second = cache.parse("https://example.org/license")
+
+        then:
+        second.is(first)
+        cache.hits() == 1
+        cache.misses() == 1
+        cache.size() == 1
+        cache.weight() == "https://example.org/license".length()
+    }
+
+    def "invalid targets are not cached"() {
+        given:
+        def cache = TargetCache.create(16, 1024)
+
+        when:
+        cache.parse("https://exa mple.org")
+
+        then:
+        thrown(IllegalArgumentException)
+        cache.size() == 0
+        cache.misses() == 1
+    }
+
+    def "the cache does not exceed its bounds"() {
+        given:
+        def cache = TargetCache.create(maxEntries, maxWeight)
+
+        when:
+        (0..<100).each { i ->
+            2.times { cache.parse("https://example.org/${i}") }
+        }
+
+        then:
+        cache.size() <= maxEntries
+        cache.weight() <= maxWeight
+
+        where:
+        maxEntries | maxWeight
+        8          | 10_000
+        100        | 60
+        1          | 1
+    }
+
+    def "targets requested once do not displace frequent targets"() {
+        given:
+        def cache = TargetCache.create(4, 10_000)
+        def frequent = (0..<4).collect { "https://example.org/frequent/${it}" }
+        frequent.each { target -> 3.times { cache.parse(target) } }
+
+        when:
+        (0..<50).each { cache.parse("https://example.org/once/${it}") }
+        def hitsBefore = cache.hits()
+        frequent.each { cache.parse(it) }
+
+        then:
+        cache.hits() - hitsBefore == 4
+    }
+
+    def "a frequent oldest entry does not keep cold entries from being evicted"() {
+        given:
+        def cache = TargetCache.create(2, 1000)
+        50.times { cache.parse("https://example.org/hot") }
+        cache.parse("https://example.org/cold")
+
+        when:
+        40.times { cache.parse("https://example.org/warm") }
+        def hitsBefore = cache.hits()
+        cache.parse("https://example.org/hot")
+        cache.parse("https://example.org/warm")
+
+        then:
+        cache.hits() - hitsBefore == 2
+        cache.size() == 2
+    }
+
+    def "a rejected target does not evict entries"() {
+        given: "two entries that are more frequent than the candidate together fill the weight"
+        def cache = TargetCache.create(10, 60)
+        def cold = "https://example.org/a"
+        def frequent = "https://example.org/b"
+        cache.parse(cold)
+        3.times { cache.parse(frequent) }
+
+        when: "the candidate would need both entries as victims"
+        def candidate = "https://example.org/candidate/" + "c" * 15
+        2.times { cache.parse(candidate) }
+
+        then:
+        cache.size() == 2
+        cache.weight() == cold.length() + frequent.length()
+        cache.parse(cold).is(cache.parse(cold))
+        cache.hits() == 2 + 2
+    }
+
+    def "a processor with a target cache validates like one without"() {
+        given:
+        def cache = TargetCache.create(64, 10_000)
+        def processor = new WebLinkProcessor.Builder().withTargetCache(cache).build()
+        def header = '<https://example.org/a>; rel=describedby, <https://example.org/b>; rel=license, <https://exa mple.org>'
+
+        when:
+        def first = processor.process(header)
+        def second = processor.process(header)
+
+        then:
+        first == new WebLinkProcessor.Builder().build().process(header)
+        second == first
+        cache.hits() == 2
+        cache.misses() == 4
+    }
+
+    def "the cache can be used by concurrent threads"() {
+        given:
+        def cache = TargetCache.create(32, 10_000)
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        def results = executor.invokeAll((0..<4).collect { thread ->
+            { -> (0..<1_000).collect { i -> cache.parse("https://example.org/${i % 64}").reference() } } as Callable
+        })*.get()
+
+        then:
+        results.every { it == (0..<1_000).collect { i -> "https://example.org/${i % 64}".toString() } }
+        cache.hits() + cache.misses() == 4_000
+        cache.size() <= 32
+
+        cleanup:
+        executor.shutdown()
+    }
+}
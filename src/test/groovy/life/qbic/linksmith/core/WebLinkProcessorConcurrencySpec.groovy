@@ -0,0 +1,170 @@
+package life.qbic.linksmith.core
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import life.qbic.linksmith.spi.WebLinkParser.StructureException
+import life.qbic.linksmith.spi.WebLinkRefiner
+import life.qbic.linksmith.spi.WebLinkValidator
+import spock.lang.Specification
+import spock.lang.Timeout
+
+/**
+ * Stress test for a single {@link WebLinkProcessor} instance shared by concurrent threads.
+ *
+ * All threads are released at the same time and process different headers in a tight loop, so
+ * any state shared between calls would mix up the results of different headers.
+ */
+class WebLinkProcessorConcurrencySpec extends Specification {
+
+    static final int THREADS = 8
+
+    static final int ITERATIONS = 2_000
+
+    static final List<String> HEADERS = [
+            '<https://example.org/a>; rel=self',
+            '<https://example.org/b>; rel="next"; title="Page B", <https://example.org/c>; rel=prev',
+            '<https://example.org/d>; rel=describedby; type="application/json"',
+            '<https://example.org/e>, <https://example.org/f>, <https://example.org/g>; anchor="#x"',
+    ]
+
+    @Timeout(60)
+    def "a shared #description processor gives the same results as sequential processing"() {
+        given:
+        def expected = HEADERS.collect { processor.process(it) }
+        def executor = Executors.newFixedThreadPool(THREADS)
+        def start = new CountDownLatch(1)
+
+        def mismatches = new AtomicInteger()
+
+        and:
+        def tasks = (0..<THREADS).collect { thread ->
+            {
+                start.await()
+                for (int i = 0; i < ITERATIONS; i++) {
+                    int index = (thread + i) % HEADERS.size()
+                    if (processor.process(HEADERS[index]) != expected[index]) {
+                        mismatches.incrementAndGet()
+                    }
+                }
+            } as Runnable
+        }
+
+        when:
+        def futures = tasks.collect { executor.submit(it) }
+        start.countDown()
+        futures.each { it.get(30, TimeUnit.SECONDS) }
+
+        then:
+        mismatches.get() == 0
+
+        cleanup:
+        executor.shutdownNow()
+
+        where:
+        description | processor
+        "default"   | new WebLinkProcessor.Builder().build()
+        "limited"   | new WebLinkProcessor.Builder()
+                .withLimits(ProcessingLimits.unlimited().withMaxLinks(8))
+                .build()
+    }
+
+    /**
+     * A linkset-style header with thousands of link-values, with commas and angle brackets inside
+     * quoted-strings and URI references that must not split the header.
+     */
+    static String largeHeader(int links) {
+        (0..<links).collect { i ->
+            i % 3 == 0
+                    ? "<https://example.org/item/${i}?a=1,b=2>; rel=item; title=\"Item ${i}, <draft>\""
+                    : "<https://example.org/item/${i}>; rel=\"item describedby\"; type=application/json; x-flag"
+        }.join(', ')
+    }
+
+    def "parallel processing of a large header gives the same result as sequential processing"() {
+        given:
+        def pool = new ForkJoinPool(4)
+        def header = largeHeader(3_000) + ', <https://example.org/last>; rel=self; rel=other'
+        def parallel = new WebLinkProcessor.Builder().withParallelism(pool).build()
+        def sequential = new WebLinkProcessor.Builder().build()
+
+        when:
+        def result = parallel.process(header)
+
+        then:
+        result == sequential.process(header)
+        result.weblinks().size() == 3_001
+        !result.report().issues().isEmpty()
+
+        cleanup:
+        pool.shutdownNow()
+    }
+
+    def "parallel processing validates the merged header with validators that need all links"() {
+        given:
+        def pool = new ForkJoinPool(4)
+        def header = largeHeader(1_000)
+        def validator = Mock(WebLinkValidator)
+        def processor = new WebLinkProcessor.Builder().withParallelism(pool).withValidator(validator).build()
+        def expected = new WebLinkValidator.ValidationResult([], new WebLinkValidator.IssueReport([]))
+
+        when:
+        def result = processor.process(header)
+
+        then:
+        1 * validator.validate({ it.rawLinks().size() == 1_000 }) >> expected
+        result == expected
+
+        cleanup:
+        pool.shutdownNow()
+    }
+
+    def "parallel processing reports a malformed large header like sequential processing"() {
+        given:
+        def pool = new ForkJoinPool(4)
+        def header = largeHeader(1_000) + ', <https://example.org/bad> rel=x, ' + largeHeader(1_000)
+        def parallel = new WebLinkProcessor.Builder().withParallelism(pool).build()
+        def sequential = new WebLinkProcessor.Builder().build()
+
+        when:
+        sequential.process(header)
+
+        then:
+        def expected = thrown(StructureException)
+
+        when:
+        parallel.process(header)
+
+        then:
+        def actual = thrown(StructureException)
+        actual.message == expected.message
+        actual.position() == expected.position()
+
+        cleanup:
+        pool.shutdownNow()
+    }
+
+    def "refiners see the merged web links of a header processed in parallel"() {
+        given:
+        def pool = new ForkJoinPool(4)
+        def header = largeHeader(3_000)
+        def seen = []
+        def refiner = { links ->
+            seen << links.size()
+            new WebLinkValidator.ValidationResult(links.take(1), new WebLinkValidator.IssueReport([]))
+        } as WebLinkRefiner
+
+        when:
+        def result = new WebLinkProcessor.Builder().withParallelism(pool).withRefiner(refiner).build()
+                .process(header)
+
+        then:
+        seen == [3_000]
+        result.weblinks().size() == 1
+
+        cleanup:
+        pool.shutdown()
+    }
+}
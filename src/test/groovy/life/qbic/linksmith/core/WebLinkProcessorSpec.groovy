@@ -1,12 +1,20 @@
 package life.qbic.linksmith.core
 
+import life.qbic.linksmith.core.ProcessingLimits.LimitExceededException
+import life.qbic.linksmith.internal.lexing.DfaWebLinkLexer
+import life.qbic.linksmith.internal.lexing.SimpleWebLinkLexer
 import life.qbic.linksmith.model.WebLink
+import life.qbic.linksmith.model.WebLinkParameter
 import life.qbic.linksmith.internal.lexing.WebLinkToken
 import life.qbic.linksmith.internal.lexing.WebLinkTokenType
 import life.qbic.linksmith.internal.parsing.RawLinkHeader
+import life.qbic.linksmith.spi.WebLinkHandler
 import life.qbic.linksmith.spi.WebLinkLexer
 import life.qbic.linksmith.spi.WebLinkParser
+import life.qbic.linksmith.spi.WebLinkRefiner
+import life.qbic.linksmith.spi.WebLinkTokenCursor
 import life.qbic.linksmith.spi.WebLinkValidator
+import java.nio.ByteBuffer
 import spock.lang.Specification
 import spock.lang.Unroll
 
@@ -398,4 +406,551 @@ class WebLinkProcessorSpec extends Specification {
         then:
         result.weblinks().size() == 1
     }
+
+    def "default processor processes raw header bytes"() {
+        given:
+        def processor = new WebLinkProcessor.Builder().build()
+        def input = '<https://example.org/a>; rel=self, <https://example.org/b>; rel=next'
+
+        when:
+        def result = processor.process(ByteBuffer.wrap(input.getBytes("US-ASCII")))
+
+        then:
+        result.weblinks()*.target()*.toString() == ["https://example.org/a", "https://example.org/b"]
+        !result.containsIssues()
+    }
+
+    def "streaming lexer and parser hand over tokens through a cursor"() {
+        given:
+        def cursor = Mock(WebLinkTokenCursor)
+        def lexer = Mock(WebLinkLexer) { supportsStreaming() >> true }
+        def parser = Mock(WebLinkParser) { supportsStreaming() >> true }
+        def validator = Mock(WebLinkValidator)
+
+        def parsedHeader = dummyParsedHeader()
+        def validationResult = new WebLinkValidator.ValidationResult(List.of(), new WebLinkValidator.IssueReport(List.of()))
+
+        and:
+        def processor = new WebLinkProcessor.Builder()
+                .withLexer(lexer)
+                .withParser(parser)
+                .withValidator(validator)
+                .build()
+
+        when:
+        processor.process("<x>")
+
+        then:
+        1 * lexer.cursor("<x>") >> cursor
+        0 * lexer.lex(_)
+        1 * parser.parse(cursor) >> parsedHeader
+        1 * validator.validate(parsedHeader) >> validationResult
+    }
+
+    def "workspace hands the cursor of the previous header back to the lexer"() {
+        given:
+        def cursor = Mock(WebLinkTokenCursor)
+        def lexer = Mock(WebLinkLexer) { supportsStreaming() >> true }
+        def parser = Mock(WebLinkParser) { supportsStreaming() >> true }
+        def validator = Mock(WebLinkValidator)
+        def workspace = WebLinkWorkspace.create()
+
+        def parsedHeader = dummyParsedHeader()
+        def validationResult = new WebLinkValidator.ValidationResult(List.of(), new WebLinkValidator.IssueReport(List.of()))
+
+        and:
+        def processor = new WebLinkProcessor.Builder()
+                .withLexer(lexer)
+                .withParser(parser)
+                .withValidator(validator)
+                .build()
+
+        when:
+        processor.process("<x>", workspace)
+        processor.process("<y>", workspace)
+
+        then:
+        1 * lexer.cursor("<x>", null) >> cursor
+        1 * lexer.cursor("<y>", cursor) >> cursor
+        2 * parser.parse(cursor) >> parsedHeader
+        2 * validator.validate(parsedHeader) >> validationResult
+    }
+
+    def "default processor gives the same results with and without a workspace"() {
+        given:
+        def processor = new WebLinkProcessor.Builder().build()
+        def workspace = WebLinkWorkspace.create()
+        def headers = [
+                '<https://example.org/a>; rel=self, <https://example.org/b>; rel=next',
+                '<https://example.org/c>; title="C"',
+                '<https://example.org/d>',
+        ]
+
+        expect:
+        headers.every { processor.process(it, workspace) == processor.process(it) }
+        headers.every {
+            def bytes = ByteBuffer.wrap(it.getBytes("US-ASCII"))
+            processor.process(bytes, workspace) == processor.process(bytes)
+        }
+    }
+
+    def "default processor reuses the parser buffers of the workspace"() {
+        given:
+        def processor = new WebLinkProcessor.Builder()
+                .withLimits(ProcessingLimits.unlimited().withMaxLinks(10))
+                .build()
+        def workspace = WebLinkWorkspace.create()
+
+        when:
+        processor.process('<https://example.org/a>; rel=self', workspace)
+        def scratch = workspace.parserScratch
+        def result = processor.process('<https://example.org/b>; rel=next', workspace)
+
+        then:
+        scratch != null
+        workspace.parserScratch.is(scratch)
+        result == processor.process('<https://example.org/b>; rel=next')
+    }
+
+    def "header longer than the limit is rejected before lexing"() {
+        given:
+        def lexer = Mock(WebLinkLexer)
+        def processor = new WebLinkProcessor.Builder()
+                .withLexer(lexer)
+                .withLimits(ProcessingLimits.unlimited().withMaxHeaderLength(10))
+                .build()
+
+        when:
+        processor.process("<https://example.org>")
+
+        then:
+        def e = thrown(LimitExceededException)
+        e.message == "Link header exceeds the maximum length of 10 characters: 21"
+        0 * lexer._
+    }
+
+    def "processing fails fast when the #limit limit is exceeded"() {
+        given:
+        def processor = new WebLinkProcessor.Builder()
+                .withLimits(limits)
+                .build()
+
+        when:
+        processor.process(header)
+
+        then:
+        def e = thrown(LimitExceededException)
+        e.message == message
+
+        where:
+        limit        | limits                                                   | header                                  || message
+        "token"      | ProcessingLimits.unlimited().withMaxTokens(5)           | '<a>; rel=self'                         || "Link header exceeds the maximum of 5 tokens at position 8"
+        "link"       | ProcessingLimits.unlimited().withMaxLinks(2)            | '<a>, <b>, <c>'                         || "Link header exceeds the maximum of 2 links at position 8"
+        "parameter"  | ProcessingLimits.unlimited().withMaxParametersPerLink(1) | '<a>; rel=self, <b>; rel=next; title=B' || "Link exceeds the maximum of 1 parameters at position 28"
+    }
+
+    def "limits are enforced before the rest of the header is lexed"() {
+        given:
+        def processor = new WebLinkProcessor.Builder()
+                .withLimits(ProcessingLimits.unlimited().withMaxLinks(2))
+                .build()
+
+        when: "the header has a lexical error after the third link"
+        processor.process('<a>, <b>, <c>, <unterminated')
+
+        then:
+        thrown(LimitExceededException)
+    }
+
+    def "limits are enforced for non-streaming lexers and with a workspace"() {
+        given:
+        def limits = ProcessingLimits.unlimited().withMaxLinks(1)
+        def listProcessor = new WebLinkProcessor.Builder()
+                .withLexer(DfaWebLinkLexer.create())
+                .withLimits(limits)
+                .build()
+        def processor = new WebLinkProcessor.Builder()
+                .withLimits(limits)
+                .build()
+        def workspace = WebLinkWorkspace.create()
+
+        when:
+        listProcessor.process('<a>, <b>')
+
+        then:
+        thrown(LimitExceededException)
+
+        when:
+        processor.process('<a>', workspace)
+        processor.process('<a>, <b>', workspace)
+
+        then:
+        thrown(LimitExceededException)
+    }
+
+    def "headers within the limits are processed as without limits"() {
+        given:
+        def limits = new ProcessingLimits(100, 20, 2, 2)
+        def limited = new WebLinkProcessor.Builder().withLimits(limits).build()
+        def unlimited = new WebLinkProcessor.Builder().build()
+        def header = '<https://example.org/a>; rel=self, <https://example.org/b>; rel=next; title=B'
+
+        expect:
+        limited.process(header) == unlimited.process(header)
+    }
+
+    def "processing limits reject invalid bounds"() {
+        when:
+        new ProcessingLimits(headerLength, tokens, links, parameters)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        headerLength | tokens | links | parameters
+        -1           | 1      | 1     | 0
+        0            | 0      | 1     | 0
+        0            | 1      | 0     | 0
+        0            | 1      | 1     | -1
+    }
+
+    def "handler receives the raw links without validation (#caseName)"() {
+        given:
+        def events = []
+        def handler = [
+                startLink: { uri -> events << ["link", uri.toString()] },
+                param    : { name, value -> events << ["param", name.toString(), value?.toString()] },
+                endLink  : { -> events << ["end"] }
+        ] as WebLinkHandler
+
+        when:
+        processor.process('<https://example.org/a>; rel=self; rel=other; x-flag, <b>', handler)
+
+        then:
+        events == [
+                ["link", "https://example.org/a"],
+                ["param", "rel", "self"],
+                ["param", "rel", "other"],
+                ["param", "x-flag", null],
+                ["end"],
+                ["link", "b"],
+                ["end"]
+        ]
+
+        where:
+        caseName            | processor
+        "default"           | new WebLinkProcessor.Builder().build()
+        "configured lexer"  | new WebLinkProcessor.Builder().withLexer(DfaWebLinkLexer.create()).build()
+    }
+
+    def "handler processing does not run the validators"() {
+        given:
+        def validator = Mock(WebLinkValidator)
+        def processor = new WebLinkProcessor.Builder().withValidator(validator).build()
+
+        when:
+        processor.process('<a>; rel=self', Mock(WebLinkHandler))
+
+        then:
+        0 * validator.validate(_)
+    }
+
+    def "handler processing enforces the processing limits"() {
+        given:
+        def handler = Mock(WebLinkHandler)
+        def processor = new WebLinkProcessor.Builder()
+                .withLimits(ProcessingLimits.unlimited().withMaxLinks(1))
+                .build()
+
+        when:
+        processor.process('<a>, <b>', handler)
+
+        then:
+        thrown(LimitExceededException)
+        0 * handler.startLink({ it.toString() == "b" })
+    }
+
+    def "handler processing throws NullPointerException for a null handler"() {
+        when:
+        new WebLinkProcessor.Builder().build().process('<a>', (WebLinkHandler) null)
+
+        then:
+        thrown(NullPointerException)
+    }
+
+    def "findFirst returns the first link matching #predicateName"() {
+        given:
+        def processor = new WebLinkProcessor.Builder().build()
+        def header = '<https://example.org/1>; rel=prev, <https://example.org/2>; rel="self NEXT"; type="text/html", ' +
+                '<https://example.org/3>; rel=next; type="application/json"'
+
+        expect:
+        processor.findFirst(header, predicate).map { it.target().toString() } == Optional.ofNullable(expected)
+
+        where:
+        predicateName         | predicate                                                              | expected
+        "rel"                 | LinkPredicate.rel("next")                                              | "https://example.org/2"
+        "param"               | LinkPredicate.param("TYPE", "application/json")                        | "https://example.org/3"
+        "combined predicates" | LinkPredicate.rel("next").and(LinkPredicate.param("type", "application/json")) | "https://example.org/3"
+        "nothing"             | LinkPredicate.rel("last")                                              | null
+    }
+
+    def "findFirst does not scan the header beyond the match (#caseName)"() {
+        given:
+        def header = '<https://example.org/a>; rel=next, <https://example.org/b>; rel=self, <broken'
+
+        when: "the matches precede the malformed or excess third link-value"
+        def next = processor.findFirst(header, LinkPredicate.rel("next"))
+        def self = processor.findFirst(header, LinkPredicate.rel("self"))
+
+        then:
+        next.get() == WebLink.create(URI.create("https://example.org/a"), [WebLinkParameter.create("rel", "next")])
+        self.get() == WebLink.create(URI.create("https://example.org/b"), [WebLinkParameter.create("rel", "self")])
+
+        when: "without a match, the third link-value is reached"
+        processor.findFirst(header, LinkPredicate.rel("last"))
+
+        then:
+        thrown(exception)
+
+        where:
+        caseName  | processor                                                                                      | exception
+        "default" | new WebLinkProcessor.Builder().build()                                                         | WebLinkLexer.LexingException
+        "limited" | new WebLinkProcessor.Builder().withLimits(ProcessingLimits.unlimited().withMaxLinks(2)).build() | LimitExceededException
+    }
+
+    def "findFirst validates only the matching link"() {
+        given:
+        def validator = Mock(WebLinkValidator)
+        def processor = new WebLinkProcessor.Builder().withValidator(validator).build()
+
+        when:
+        def match = processor.findFirst('<a>; rel=self, <b>; rel=next, <c>; rel=next', LinkPredicate.rel("next"))
+
+        then:
+        1 * validator.validate({ it.rawLinks()*.rawURI() == ["b"] }) >> new WebLinkValidator.ValidationResult(
+                [WebLink.create(URI.create("b"))], new WebLinkValidator.IssueReport(List.of()))
+        match.get().target() == URI.create("b")
+    }
+
+    def "findFirst does not return a matching link with errors: '#header' (#caseName)"() {
+        expect: "process reports the error of the same link"
+        processor.process(header).report().hasErrors()
+        processor.findFirst(header, LinkPredicate.rel("next")).isEmpty()
+
+        and: "a quoted value is no token and valid"
+        processor.findFirst('<http://a>; rel=next; title="a(b"', LinkPredicate.rel("next")).isPresent()
+
+        where:
+        [header, [caseName, processor]] << [
+                ['<http://a>; rel=next; ti(tle=x', '<http://a>; rel=next; title=a(b'],
+                [["default", new WebLinkProcessor.Builder().build()],
+                 ["lexer", new WebLinkProcessor.Builder().withLexer(DfaWebLinkLexer.create()).build()]]
+        ].combinations()
+    }
+
+    def "recovering processor reports skipped link-values as errors (#caseName)"() {
+        given:
+        def header = '<https://example.org/a>; rel=self, <https://example.org/b> rel=next, <https://example.org/c>'
+
+        when:
+        def result = processor.process(header)
+
+        then:
+        result.weblinks()*.target()*.toString() == ["https://example.org/a", "https://example.org/c"]
+        result.report().issues() == [WebLinkValidator.Issue.error(WebLinkValidator.IssueCode.SKIPPED_LINK_VALUE,
+                35, 67, "Expected SEMICOLON but found IDENT('rel') at position 59")]
+        result.report().issues()*.message() ==
+                ["Skipped malformed link-value at positions 35 to 67: Expected SEMICOLON but found IDENT('rel') at position 59"]
+
+        where:
+        caseName           | processor
+        "direct"           | new WebLinkProcessor.Builder().withRecovery().build()
+        "configured lexer" | new WebLinkProcessor.Builder().withRecovery().withLexer(DfaWebLinkLexer.create()).build()
+    }
+
+    def "tryProcess returns the validation result as success"() {
+        given:
+        def processor = new WebLinkProcessor.Builder().build()
+        def header = '<https://example.org>; rel=self'
+
+        expect:
+        processor.tryProcess(header) == new ProcessingOutcome.Success(processor.process(header))
+    }
+
+    def "tryProcess returns '#header' as #expected.class.simpleName"() {
+        given:
+        def direct = new WebLinkProcessor.Builder().build()
+        def configured = new WebLinkProcessor.Builder().withLexer(DfaWebLinkLexer.create()).build()
+
+        expect:
+        direct.tryProcess(header) == expected
+        configured.tryProcess(header) == expected
+
+        where:
+        header       | expected
+        '<a>, <b'    | new ProcessingOutcome.LexFailure(5, "Unterminated URI reference: missing '>' for '<' at position 5")
+        '<a>; x="y'  | new ProcessingOutcome.LexFailure(7, 'Unterminated quoted-string starting at position 7')
+        '<a>; rel=,' | new ProcessingOutcome.StructureFailure(9, "Expected any of [IDENT, QUOTED] but found COMMA(',') at position 9")
+        '<a> x'      | new ProcessingOutcome.StructureFailure(4, "Expected SEMICOLON but found IDENT('x') at position 4")
+        '<a>,'       | new ProcessingOutcome.StructureFailure(3, "Unexpected trailing comma: expected another link-value after ','.")
+        ' '          | new ProcessingOutcome.StructureFailure(1, "A link header entry must have at least one web link. Tokens started with EOF.")
+    }
+
+    def "the first error in header order is reported, unless the lexer does not stream"() {
+        given:
+        def header = 'relhttp://x/y,<,rel'
+        def structureFailure = new ProcessingOutcome.StructureFailure(0, "Expected LT but found IDENT('relhttp://x/y') at position 0")
+        def simpleLexer = SimpleWebLinkLexer.create()
+        def streamingLexer = Stub(WebLinkLexer) {
+            supportsStreaming() >> true
+            cursor(_ as String) >> { String input -> simpleLexer.cursor(input) }
+        }
+
+        expect: "the fused parser and interleaved lexing and parsing stop at the missing '<'"
+        new WebLinkProcessor.Builder().build().tryProcess(header) == structureFailure
+        new WebLinkProcessor.Builder().withLexer(streamingLexer).build().tryProcess(header) == structureFailure
+
+        and: "a lexer without streaming tokenizes the whole header first"
+        new WebLinkProcessor.Builder().withLexer(DfaWebLinkLexer.create()).build().tryProcess(header) ==
+                new ProcessingOutcome.LexFailure(14, "Unterminated URI reference: missing '>' for '<' at position 14")
+    }
+
+    def "processing exceptions do not capture a stack trace"() {
+        when:
+        new WebLinkProcessor.Builder().build().process(header)
+
+        then:
+        def e = thrown(RuntimeException)
+        e.stackTrace.length == 0
+
+        where:
+        header << ['<a', '<a>;']
+    }
+
+    def "refiners check the converted web links after the validators, in configured order"() {
+        given:
+        def calls = []
+        WebLinkRefiner dropNext = { links ->
+            calls << links*.target()*.toString()
+            new WebLinkValidator.ValidationResult(links.findAll { !it.rel().contains("next") },
+                    new WebLinkValidator.IssueReport([WebLinkValidator.Issue.warning("dropped next")]))
+        }
+        WebLinkRefiner requireSelf = { links ->
+            calls << links*.target()*.toString()
+            def issues = links.any { it.rel().contains("self") } ? [] : [WebLinkValidator.Issue.error("no self link")]
+            new WebLinkValidator.ValidationResult(links, new WebLinkValidator.IssueReport(issues))
+        }
+        def processor = new WebLinkProcessor.Builder()
+                .withRefiner(dropNext)
+                .withRefiner(requireSelf)
+                .build()
+
+        when:
+        def result = processor.process('<https://example.org/a>; rel=next, <https://example.org/b>; rel=prev; rel=x')
+
+        then:
+        calls == [["https://example.org/a", "https://example.org/b"], ["https://example.org/b"]]
+        result.weblinks()*.target()*.toString() == ["https://example.org/b"]
+        result.report().issues()*.message() == [
+                "Parameter 'rel' is not allowed multiple times. Skipped parameter.",
+                "dropped next",
+                "no self link"]
+    }
+
+    def "refiners reuse the conversion of the last validator instead of validating again"() {
+        given:
+        def rfc = Rfc8288WebLinkValidator.create()
+        def converted = [:]
+        def validator = { String name ->
+            { RawLinkHeader header ->
+                def result = rfc.validate(header)
+                converted[name] = converted.getOrDefault(name, []) + [result.weblinks()]
+                result
+            } as WebLinkValidator
+        }
+        def received = []
+        WebLinkRefiner refiner = { links ->
+            received << links
+            new WebLinkValidator.ValidationResult(links, new WebLinkValidator.IssueReport([]))
+        }
+        def processor = new WebLinkProcessor.Builder()
+                .withValidator(validator("first"))
+                .withValidator(validator("second"))
+                .withRefiner(refiner)
+                .build()
+
+        when:
+        def result = processor.process('<https://example.org/a>; rel=self, <https://example.org/b>; rel=next')
+
+        then: "every validator converts the header once"
+        converted["first"].size() == 1
+        converted["second"].size() == 1
+
+        and: "the refiner receives the web link instances of the last validator"
+        received.size() == 1
+        received[0].size() == 2
+        [received[0], converted["second"][0]].transpose().every { refined, validated -> refined.is(validated) }
+        ![received[0], converted["first"][0]].transpose().any { refined, validated -> refined.is(validated) }
+        result.weblinks() == converted["second"][0]
+    }
+
+    def "findFirst does not return a link a refiner filtered"() {
+        given:
+        def processor = new WebLinkProcessor.Builder()
+                .withRefiner({ links -> new WebLinkValidator.ValidationResult([], new WebLinkValidator.IssueReport([])) } as WebLinkRefiner)
+                .build()
+
+        expect:
+        processor.findFirst('<https://example.org/a>; rel=next', LinkPredicate.rel("next")).isEmpty()
+    }
+
+    def "fail-fast processing stops at the first validator that reports an error"() {
+        given:
+        def second = Mock(WebLinkValidator)
+        def refiner = Mock(WebLinkRefiner)
+        def processor = new WebLinkProcessor.Builder()
+                .withValidator(Rfc8288WebLinkValidator.create())
+                .withValidator(second)
+                .withRefiner(refiner)
+                .withValidationMode(WebLinkValidator.ValidationMode.FAIL_FAST)
+                .build()
+
+        when:
+        def result = processor.process('<https://exa mple.org>, <https://example.org/b>; x=a/b')
+
+        then:
+        0 * second._
+        0 * refiner._
+        result.report().hasErrors()
+        result.report().issues().size() == 1
+        result.weblinks().isEmpty()
+    }
+
+    def "fail-fast processing of a valid header gives the complete result"() {
+        given:
+        def header = '<https://example.org/a>; rel=self; rel=other, <https://example.org/b>; rel=next'
+        def failFast = new WebLinkProcessor.Builder()
+                .withValidationMode(WebLinkValidator.ValidationMode.FAIL_FAST)
+                .build()
+
+        expect:
+        failFast.process(header) == new WebLinkProcessor.Builder().build().process(header)
+    }
+
+    def "fail-fast recovering processing reports the first skipped link-value only"() {
+        given:
+        def processor = new WebLinkProcessor.Builder()
+                .withRecovery()
+                .withValidationMode(WebLinkValidator.ValidationMode.FAIL_FAST)
+                .build()
+
+        when:
+        def result = processor.process('<https://example.org/a>, broken, <https://example.org/c>, also broken')
+
+        then:
+        result.weblinks().isEmpty()
+        result.report().issues().size() == 1
+        result.report().issues()[0].message().startsWith("Skipped malformed link-value")
+    }
 }
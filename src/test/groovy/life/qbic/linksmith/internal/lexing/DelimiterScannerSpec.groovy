@@ -0,0 +1,81 @@
+package life.qbic.linksmith.internal.lexing
+
+import java.nio.ByteBuffer
+import spock.lang.Requires
+import spock.lang.Specification
+
+/**
+ * Specification for the {@link DelimiterScanner} implementations.
+ *
+ * The vectorised scanner is only available in builds with the vector profile, which adds the
+ * jdk.incubator.vector module to the test runtime. Both scanners must agree on every position.
+ */
+class DelimiterScannerSpec extends Specification {
+
+    def "without the vectorised scanner the scalar scanner is detected"() {
+        expect:
+        DelimiterScanner.vectorised().isPresent() || DelimiterScanner.detect().is(DelimiterScanner.scalar())
+    }
+
+    @Requires({ DelimiterScanner.vectorised().isPresent() })
+    def "vectorised scanner finds the same delimiter as the scalar scanner"() {
+        given:
+        def vectorised = DelimiterScanner.vectorised().get()
+        def random = new Random(8288)
+
+        expect:
+        (0..<500).every {
+            def bytes = new byte[random.nextInt(200)]
+            for (int i = 0; i < bytes.length; i++) {
+                // mostly letters, rare delimiters, and non US-ASCII bytes
+                int kind = random.nextInt(40)
+                bytes[i] = kind == 0 ? (byte) ('>' as char) : kind == 1 ? (byte) -62 : (byte) (('a' as char) + random.nextInt(26))
+            }
+            int from = bytes.length == 0 ? 0 : random.nextInt(bytes.length)
+            int to = from + random.nextInt(bytes.length - from + 1)
+            [(byte) ('>' as char), (byte) -62, (byte) ('"' as char)].every { target ->
+                vectorised.indexOf(bytes, from, to, target) == DelimiterScanner.scalar().indexOf(bytes, from, to, target)
+            }
+        }
+    }
+
+    @Requires({ DelimiterScanner.vectorised().isPresent() })
+    def "vectorised scanner finds the delimiter at #delimiterAt from every start"() {
+        given:
+        def bytes = ('x' * 300).getBytes("US-ASCII")
+        bytes[delimiterAt] = (byte) ('>' as char)
+        def vectorised = DelimiterScanner.vectorised().get()
+
+        expect:
+        (0..delimiterAt).every { from ->
+            vectorised.indexOf(bytes, from, bytes.length, (byte) ('>' as char)) ==
+                    DelimiterScanner.scalar().indexOf(bytes, from, bytes.length, (byte) ('>' as char))
+        }
+
+        where:
+        delimiterAt << [0, 1, 15, 16, 17, 63, 64, 65, 150, 299]
+    }
+
+    def "returns -1 when the range does not contain the delimiter"() {
+        given:
+        def bytes = ('x' * 100 + '>').getBytes("US-ASCII")
+
+        expect:
+        scanner.indexOf(bytes, 0, 100, (byte) ('>' as char)) == -1
+
+        where:
+        scanner << [DelimiterScanner.scalar(), DelimiterScanner.detect()]
+    }
+
+    def "lexes long URIs from array-backed and direct buffers alike"() {
+        given:
+        def uri = "https://example.org/" + ("segment/" * 50)
+        def input = "<${uri}>; title=\"${'t' * 200}\""
+        def bytes = input.getBytes("US-ASCII")
+        def direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip()
+
+        expect:
+        SimpleWebLinkLexer.create().lex(ByteBuffer.wrap(bytes)) == SimpleWebLinkLexer.create().lex(input)
+        SimpleWebLinkLexer.create().lex(direct) == SimpleWebLinkLexer.create().lex(input)
+    }
+}
@@ -0,0 +1,91 @@
+package life.qbic.linksmith.internal.lexing
+
+import life.qbic.linksmith.core.WebLinkProcessor
+import life.qbic.linksmith.spi.WebLinkLexer.LexingException
+import spock.lang.Specification
+
+/**
+ * Specification for {@link DfaWebLinkLexer}.
+ *
+ * The table-driven lexer must be a drop-in replacement for {@link SimpleWebLinkLexer}, so the
+ * tests compare both token sequences for the same input.
+ */
+class DfaWebLinkLexerSpec extends Specification {
+
+    def dfaLexer = DfaWebLinkLexer.create()
+
+    def simpleLexer = SimpleWebLinkLexer.create()
+
+    def "produces the same tokens as the simple lexer for '#input'"() {
+        expect:
+        dfaLexer.lex(input) == simpleLexer.lex(input)
+
+        where:
+        input << [
+                "",
+                "   ",
+                "<https://example.org>",
+                "<>",
+                '<https://example.org>; rel=self',
+                '<https://example.org/resource>  ;  rel = "self"  ',
+                '<https://example.org>; title=""',
+                '<https://example.org/a>; rel=self, <https://example.org/b>; rel=next',
+                '<https://example.org>;\trel="self describedby";type=application/json;x-flag',
+                '<https://example.org/ä>; title="Grüße"',
+                'rel=self>',
+                '<a>,<b>,,<c>',
+                '<a>; title="say \\"hi\\""; rel=x',
+                '<a>; title="back\\\\slash", <b>',
+                '<a>; x=back\\slash',
+        ]
+    }
+
+    def "produces the same tokens as the simple lexer for raw bytes"() {
+        given:
+        def input = '<https://example.org/a>; rel=self; title="A title", <https://example.org/b>'
+
+        expect:
+        dfaLexer.lex(input.getBytes("US-ASCII"), 0, input.length()) == simpleLexer.lex(input)
+    }
+
+    def "tokens lexed from bytes keep their text when the bytes are overwritten"() {
+        given:
+        def bytes = '<http://a/one>; rel=next'.getBytes("US-ASCII")
+
+        when:
+        def tokens = dfaLexer.lex(bytes, 0, bytes.length)
+        System.arraycopy('<http://b/TWO>; rel=prev'.getBytes("US-ASCII"), 0, bytes, 0, bytes.length)
+
+        then:
+        tokens*.text() == ["<", "http://a/one", ">", ";", "rel", "=", "next", ""]
+    }
+
+    def "throws on unterminated '#input'"() {
+        when:
+        dfaLexer.lex(input)
+
+        then:
+        def e = thrown(LexingException)
+        e.message.contains(message)
+
+        where:
+        input                                       | message
+        '<https://example.org'                      | "Unterminated URI reference"
+        '<https://example.org>; title="unterminated' | "Unterminated quoted-string"
+        '<a>; title="escaped quote\\"'              | "Unterminated quoted-string"
+    }
+
+    def "can be selected as lexer of the processor"() {
+        given:
+        def processor = new WebLinkProcessor.Builder()
+                .withLexer(dfaLexer)
+                .build()
+
+        when:
+        def result = processor.process('<https://example.org/a>; rel=self, <https://example.org/b>')
+
+        then:
+        result.weblinks()*.target()*.toString() == ["https://example.org/a", "https://example.org/b"]
+        !result.containsIssues()
+    }
+}
@@ -0,0 +1,113 @@
+package life.qbic.linksmith.internal.lexing
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import life.qbic.linksmith.spi.WebLinkLexer.LexingException
+import spock.lang.Specification
+
+/**
+ * Specification for {@link IncrementalWebLinkLexer}.
+ *
+ * Chunked input must yield the same tokens as {@link SimpleWebLinkLexer} for the full input,
+ * regardless of where the input is split.
+ */
+class IncrementalWebLinkLexerSpec extends Specification {
+
+    def simpleLexer = SimpleWebLinkLexer.create()
+
+    def "produces the same tokens as the simple lexer for every split of '#input'"() {
+        expect:
+        (0..input.length()).every { split ->
+            def lexer = IncrementalWebLinkLexer.create()
+            def tokens = []
+            tokens.addAll(lexer.feed(input.substring(0, split)))
+            tokens.addAll(lexer.feed(input.substring(split)))
+            tokens.addAll(lexer.finish())
+            tokens == simpleLexer.lex(input)
+        }
+
+        where:
+        input << [
+                "",
+                "   ",
+                "<https://example.org>",
+                '<https://example.org/resource>  ;  rel = "self"  ',
+                '<https://example.org/a>; rel=self, <https://example.org/b>; rel=next',
+                '<https://example.org>;\trel="self describedby";type=application/json;x-flag',
+                '<a>; title="say \\"hi\\"", <b>',
+        ]
+    }
+
+    def "emits complete tokens before the input is finished"() {
+        given:
+        def lexer = IncrementalWebLinkLexer.create()
+
+        when:
+        def first = lexer.feed('<https://exa')
+        def second = lexer.feed('mple.org>; re')
+        def third = lexer.feed('l="se')
+        def last = lexer.feed('lf"')
+        def rest = lexer.finish()
+
+        then:
+        first.isEmpty()
+        second*.type() == [WebLinkTokenType.LT, WebLinkTokenType.URI, WebLinkTokenType.GT,
+                           WebLinkTokenType.SEMICOLON]
+        second[1].text() == "https://example.org"
+        third*.type() == [WebLinkTokenType.IDENT, WebLinkTokenType.EQUALS]
+        third[0].text() == "rel"
+        third[0].position() == 23
+        last == [WebLinkToken.of(WebLinkTokenType.QUOTED, "self", 28)]
+        rest == [WebLinkToken.of(WebLinkTokenType.EOF, "", 33)]
+    }
+
+    def "accepts chunks of raw bytes"() {
+        given:
+        def input = '<https://example.org>; rel=self'
+        def bytes = input.getBytes(StandardCharsets.US_ASCII)
+        def lexer = IncrementalWebLinkLexer.create()
+        def chunk = ByteBuffer.wrap(bytes, 0, 10)
+
+        when:
+        def tokens = []
+        tokens.addAll(lexer.feed(chunk))
+        tokens.addAll(lexer.feed(ByteBuffer.wrap(bytes, 10, bytes.length - 10)))
+        tokens.addAll(lexer.finish())
+
+        then:
+        tokens == simpleLexer.lex(input)
+        chunk.position() == 0
+        chunk.limit() == 10
+    }
+
+    def "reports an unterminated #kind when the input is finished"() {
+        given:
+        def lexer = IncrementalWebLinkLexer.create()
+        lexer.feed(first)
+        lexer.feed(second)
+
+        when:
+        lexer.finish()
+
+        then:
+        def e = thrown(LexingException)
+        e.message == message
+
+        where:
+        kind            | first       | second          || message
+        "URI reference" | '<a>, <htt' | 'ps://example'  || "Unterminated URI reference: missing '>' for '<' at position 5"
+        "quoted-string" | '<a>; t='   | '"unterminated' || "Unterminated quoted-string starting at position 7"
+    }
+
+    def "rejects input after the lexer has been finished"() {
+        given:
+        def lexer = IncrementalWebLinkLexer.create()
+        lexer.finish()
+
+        when:
+        lexer.feed("<a>")
+
+        then:
+        thrown(IllegalStateException)
+    }
+}
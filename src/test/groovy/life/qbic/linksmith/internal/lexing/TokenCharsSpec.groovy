@@ -0,0 +1,75 @@
+package life.qbic.linksmith.internal.lexing
+
+import java.util.regex.Pattern
+import spock.lang.Specification
+
+/**
+ * Specification for {@link TokenChars}.
+ *
+ * The bitmap must accept exactly the tchar characters of RFC 7230, section 3.2.6.
+ */
+class TokenCharsSpec extends Specification {
+
+    static final Pattern TCHAR = Pattern.compile("[!#\$%&'*+\\-.^_`|~0-9A-Za-z]")
+
+    def "accepts exactly the tchar characters"() {
+        expect:
+        (0..<0x10000).every { c ->
+            TokenChars.isTokenChar((char) c) == TCHAR.matcher(String.valueOf((char) c)).matches()
+        }
+    }
+
+    def "'#text' is a token: #expected"() {
+        expect:
+        TokenChars.isToken(text) == expected
+
+        where:
+        text               | expected
+        "rel"              | true
+        "x-custom.param_1" | true
+        "title*"           | true
+        ""                 | false
+        "text/html"        | false
+        "a,b"              | false
+        "a b"              | false
+        "schön"       | false
+        "aŁ"          | false
+    }
+
+    def "checks spans by their offsets"() {
+        given:
+        def text = '<a>; rel=self; type=text/html'
+
+        expect:
+        TokenChars.isToken(text, 5, 8)
+        TokenChars.isToken(text, 9, 13)
+        !TokenChars.isToken(text, 20, 29)
+        !TokenChars.isToken(text, 5, 5)
+        TokenChars.tokenEnd(text, 20, text.length()) == 24
+    }
+
+    def "whitespace and delimiters are neither tchars nor each other"() {
+        expect:
+        " \t\r\n".every { TokenChars.isWhitespace(it as char) && !TokenChars.isDelimiter(it as char) }
+        '<>;=,"'.every { TokenChars.isDelimiter(it as char) && !TokenChars.isWhitespace(it as char) }
+        (0..<128).every { c ->
+            !TokenChars.isTokenChar((char) c) || !(TokenChars.isWhitespace((char) c) || TokenChars.isDelimiter((char) c))
+        }
+    }
+
+    def "unescapes '#content' to '#expected'"() {
+        given:
+        def text = "x\"${content}\"x"
+
+        expect:
+        TokenChars.unescape(text, 2, 2 + content.length()) == expected
+
+        where:
+        content          | expected
+        'plain'          | 'plain'
+        ''               | ''
+        'say \\"hi\\"' | 'say "hi"'
+        'a\\\\b'         | 'a\\b'
+        'trailing\\'     | 'trailing\\'
+    }
+}
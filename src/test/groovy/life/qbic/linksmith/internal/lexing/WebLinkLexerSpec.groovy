@@ -4,6 +4,7 @@ import life.qbic.linksmith.spi.WebLinkLexer
 import life.qbic.linksmith.spi.WebLinkLexer.LexingException
 import life.qbic.linksmith.internal.lexing.WebLinkTokenType
 import life.qbic.linksmith.internal.lexing.SimpleWebLinkLexer
+import java.nio.ByteBuffer
 import spock.lang.Specification
 
 /**
@@ -231,4 +232,264 @@ class WebLinkLexerSpec extends Specification {
     then:
     thrown(LexingException)
   }
+
+  /**
+   * The token buffer records offsets only, the token text is derived from the source on demand.
+   *
+   * Example: <https://example.org>; title="A title"
+   */
+  def "token buffer records type and offsets of each token"() {
+    given:
+    def input = '<https://example.org>; title="A title"'
+
+    when:
+    def buffer = SimpleWebLinkLexer.create().tokenize(input)
+
+    then:
+    buffer.size() == 8
+    buffer.type(1) == WebLinkTokenType.URI
+    buffer.start(1) == 1
+    buffer.end(1) == 20
+    buffer.text(1) == "https://example.org"
+
+    and: "quoted offsets exclude the quotes"
+    buffer.type(6) == WebLinkTokenType.QUOTED
+    input.substring(buffer.start(6), buffer.end(6)) == "A title"
+
+    and: "EOF is an empty span at the end of input"
+    buffer.type(7) == WebLinkTokenType.EOF
+    buffer.start(7) == input.length()
+    buffer.text(7) == ""
+  }
+
+  /**
+   * The list API is an adapter over the token buffer and must yield the same tokens.
+   */
+  def "token list adapter matches the token buffer"() {
+    given:
+    def input = '<https://example.org/a>; rel=self, <https://example.org/b>'
+    def buffer = SimpleWebLinkLexer.create().tokenize(input)
+
+    when:
+    def tokens = lexer.lex(input)
+
+    then:
+    tokens.size() == buffer.size()
+    (0..<buffer.size()).every { i ->
+      tokens[i] == WebLinkToken.of(buffer.type(i), buffer.text(i), buffer.start(i))
+    }
+
+    and: "tokens are materialised once and reused"
+    tokens[1].is(tokens[1])
+  }
+
+  /**
+   * Raw header bytes are lexed directly and must yield the same tokens as the decoded string.
+   */
+  def "lexes raw header bytes like the decoded string"() {
+    given:
+    def input = '<https://example.org/a>; rel=self; title="A title", <https://example.org/b>'
+    def bytes = input.getBytes("US-ASCII")
+
+    expect:
+    lexer.lex(ByteBuffer.wrap(bytes)) == lexer.lex(input)
+    lexer.lex(bytes, 0, bytes.length) == lexer.lex(input)
+  }
+
+  /**
+   * The lexed tokens own their text, callers may reuse the bytes as soon as lexing returns.
+   */
+  def "tokens lexed from bytes keep their text when the bytes are overwritten"() {
+    given:
+    def bytes = '<http://a/one>; rel=next; title="A"'.getBytes("US-ASCII")
+
+    when:
+    def fromArray = lexer.lex(bytes, 0, bytes.length)
+    def fromBuffer = lexer.lex(ByteBuffer.wrap(bytes))
+    byte[] other = '<http://b/TWO>; rel=prev; title="B"'.getBytes("US-ASCII")
+    System.arraycopy(other, 0, bytes, 0, bytes.length)
+
+    then:
+    fromArray*.text() == ["<", "http://a/one", ">", ";", "rel", "=", "next", ";", "title", "=", "A", ""]
+    fromBuffer*.text() == fromArray*.text()
+  }
+
+  /**
+   * Token positions are relative to the start of the lexed slice and the buffer is left untouched.
+   */
+  def "lexes a byte slice with positions relative to the slice"() {
+    given:
+    def bytes = 'GARBAGE<https://example.org>; rel=self'.getBytes("US-ASCII")
+    def buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().position(7)
+
+    when:
+    def tokens = lexer.lex(buffer)
+
+    then:
+    tokens[0].position() == 0
+    tokens[1].text() == "https://example.org"
+    tokens[6].text() == "self"
+
+    and: "the buffer position is not modified"
+    buffer.position() == 7
+
+    and:
+    lexer.lex(bytes, 7, bytes.length - 7) == tokens
+  }
+
+  /**
+   * The cursor produces the same token sequence as the list API, one token at a time.
+   */
+  def "cursor yields the same tokens as the token list"() {
+    given:
+    def input = '<https://example.org/a>; rel=self; title="A title", <https://example.org/b>'
+    def cursor = lexer.cursor(input)
+    def pulled = []
+
+    when:
+    while (true) {
+      pulled << WebLinkToken.of(cursor.peekType(), cursor.text(), cursor.startOffset())
+      if (cursor.peekType() == WebLinkTokenType.EOF) {
+        break
+      }
+      cursor.next()
+    }
+
+    then:
+    lexer.supportsStreaming()
+    pulled == lexer.lex(input)
+
+    and: "the cursor stays on EOF"
+    cursor.next() == WebLinkTokenType.EOF
+  }
+
+  /**
+   * The cursor lexes lazily, so lexing errors surface only when the faulty token is reached.
+   */
+  def "cursor reports lexing errors when the faulty token is reached"() {
+    given:
+    def cursor = lexer.cursor('<https://example.org>; title="unterminated')
+
+    when: "advancing to the token before the faulty quoted-string"
+    5.times { cursor.next() }
+
+    then:
+    noExceptionThrown()
+    cursor.peekType() == WebLinkTokenType.EQUALS
+
+    when:
+    cursor.next()
+
+    then:
+    thrown(LexingException)
+  }
+
+  /**
+   * quoted-string = DQUOTE *( qdtext / quoted-pair ) DQUOTE
+   * quoted-pair   = "\" ( HTAB / SP / VCHAR / obs-text )
+   *
+   * Escaped quotes do not end the string, the token text is unescaped.
+   */
+  def "unescapes quoted-pairs in quoted-string '#input'"() {
+    when:
+    def tokens = lexer.lex(input)
+    def quoted = tokens.find { it.type() == WebLinkTokenType.QUOTED }
+
+    then:
+    quoted.text() == text
+    quoted.position() == 5
+    tokens.last().type() == WebLinkTokenType.EOF
+
+    where:
+    input                            || text
+    '<a>;"say \\"hi\\""; rel=x'     || 'say "hi"'
+    '<a>;"back\\\\slash"'           || 'back\\slash'
+    '<a>;"\\a\\b"'                  || 'ab'
+    '<a>;"no escapes"'              || 'no escapes'
+  }
+
+  def "unescapes quoted-pairs in raw bytes and through the cursor"() {
+    given:
+    def input = '<a>; title="say \\"hi\\"", <b>'
+
+    when:
+    def fromBytes = lexer.lex(ByteBuffer.wrap(input.getBytes("US-ASCII")))
+    def cursor = lexer.cursor(input)
+    6.times { cursor.next() }
+
+    then:
+    fromBytes == lexer.lex(input)
+    fromBytes[6] == WebLinkToken.of(WebLinkTokenType.QUOTED, 'say "hi"', 12)
+    cursor.peekType() == WebLinkTokenType.QUOTED
+    cursor.text() == 'say "hi"'
+    cursor.endOffset() == 22
+  }
+
+  def "escape-free quoted-string tokens are not flagged for unescaping"() {
+    when:
+    def buffer = SimpleWebLinkLexer.create().tokenize('<a>; t="plain"; e="\\""')
+
+    then:
+    buffer.type(6) == WebLinkTokenType.QUOTED
+    !buffer.escaped(6)
+    buffer.type(10) == WebLinkTokenType.QUOTED
+    buffer.escaped(10)
+    buffer.text(10) == '"'
+  }
+
+  def "throws when a quoted-string ends with an escaped quote"() {
+    when:
+    lexer.lex('<a>; title="unterminated\\"')
+
+    then:
+    def e = thrown(LexingException)
+    e.message == "Unterminated quoted-string starting at position 11"
+  }
+
+  def "reuses its own cursor for the next input"() {
+    given:
+    def first = lexer.cursor('<https://example.org/a>; rel=self', null)
+    def second = lexer.cursor('<b>', first)
+    def pulled = []
+
+    when:
+    while (second.peekType() != WebLinkTokenType.EOF) {
+      pulled << WebLinkToken.of(second.peekType(), second.text(), second.startOffset())
+      second.next()
+    }
+
+    then:
+    second.is(first)
+    pulled == lexer.lex('<b>').dropRight(1)
+  }
+
+  def "reuses its own byte cursor for the next input"() {
+    given:
+    def first = lexer.cursor(ByteBuffer.wrap('<https://example.org/a>'.getBytes("US-ASCII")), null)
+    def bytes = ByteBuffer.wrap('xx<b>; rel=next'.getBytes("US-ASCII"))
+    bytes.position(2)
+
+    when:
+    def second = lexer.cursor(bytes, first)
+    second.next()
+
+    then:
+    second.is(first)
+    second.text() == "b"
+    second.startOffset() == 1
+    bytes.position() == 2
+  }
+
+  def "tokenizes into a reused token buffer"() {
+    given:
+    def simpleLexer = SimpleWebLinkLexer.create()
+    def buffer = simpleLexer.tokenize('<https://example.org/a>; rel=self, <https://example.org/b>')
+
+    when:
+    def reused = simpleLexer.tokenize('<c>; title="C"', buffer)
+
+    then:
+    reused.is(buffer)
+    reused.asTokenList() == simpleLexer.lex('<c>; title="C"')
+  }
 }
@@ -0,0 +1,293 @@
+package life.qbic.linksmith.internal.parsing
+
+import life.qbic.linksmith.internal.lexing.SimpleWebLinkLexer
+import life.qbic.linksmith.internal.lexing.WebLinkTokenType
+import life.qbic.linksmith.spi.WebLinkHandler
+import life.qbic.linksmith.spi.WebLinkLexer.LexingException
+import life.qbic.linksmith.spi.WebLinkParser.StructureException
+import spock.lang.Specification
+
+/**
+ * Specification for {@link DirectWebLinkParser}.
+ *
+ * The fused parser must be a drop-in replacement for {@link SimpleWebLinkLexer} combined with
+ * {@link SimpleWebLinkParser}, so the tests compare both for the same input, including the
+ * exceptions for invalid input.
+ */
+class DirectWebLinkParserSpec extends Specification {
+
+    def directParser = DirectWebLinkParser.create()
+
+    def lexer = SimpleWebLinkLexer.create()
+
+    def parser = SimpleWebLinkParser.create()
+
+    def "parses '#input' like lexer and parser"() {
+        expect:
+        directParser.parse(input) == parser.parse(lexer.cursor(input))
+
+        where:
+        input << [
+                "<https://example.org>",
+                "  <https://example.org>  ",
+                "<>",
+                '<https://example.org>; rel=self',
+                '<https://example.org/resource>  ;  rel = "self"  ',
+                '<https://example.org>; title=""; x-flag',
+                '<https://example.org/a>; rel=self, <https://example.org/b>; rel=next',
+                '<https://example.org>;\trel="self describedby";type=application/json;x-flag',
+                '<a>; title="say \\"hi\\""; rel=x',
+                '<a>; x=back\\slash',
+                '<a>;, <b>',
+                '<a>,<b>',
+        ]
+    }
+
+    def "reports '#input' with the same #exception.simpleName as lexer and parser"() {
+        when:
+        parser.parse(lexer.cursor(input))
+
+        then:
+        def expected = thrown(exception)
+
+        when:
+        directParser.parse(input)
+
+        then:
+        def actual = thrown(exception)
+        actual.message == expected.message
+
+        where:
+        input                                        | exception
+        ""                                           | StructureException
+        "   "                                        | StructureException
+        "https://example.org"                        | StructureException
+        "<a>,"                                       | StructureException
+        "<a>, "                                      | StructureException
+        "<a> rel=self"                               | StructureException
+        "<a>;"                                       | StructureException
+        "<a>; =self"                                 | StructureException
+        '<a>; "self"'                                | StructureException
+        "<a>; rel=,"                                 | StructureException
+        "<a>; rel=<b>"                               | StructureException
+        '<a>; rel"self"'                             | StructureException
+        "<a>; rel=self <b>"                          | StructureException
+        "<a>>"                                       | StructureException
+        "<https://example.org"                       | LexingException
+        "<a>, <b"                                    | LexingException
+        '<a>; title="unterminated'                   | LexingException
+        '<a>; title="escaped quote\\"'               | LexingException
+        '<a>; rel=self "unterminated'                | LexingException
+    }
+
+    def "reports the recognised tokens in the same order as the lexer"() {
+        given:
+        def input = '<https://example.org/a>; rel="self"; x-flag, <https://example.org/b>'
+        def observed = []
+
+        when:
+        directParser.parse(input, { type, position -> observed << [type, position] })
+
+        then:
+        observed == lexer.lex(input).collect { [it.type(), it.position()] }
+        observed.last() == [WebLinkTokenType.EOF, input.length()]
+    }
+
+    def "an observer can abort parsing"() {
+        when:
+        directParser.parse('<a>, <b>, <c>', { type, position ->
+            if (type == WebLinkTokenType.COMMA) {
+                throw new IllegalStateException("stop at " + position)
+            }
+        })
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message == "stop at 3"
+    }
+
+    def "pushes the links of '#input' as events in header order"() {
+        given:
+        def events = []
+
+        when:
+        directParser.parse(input, recorder(events))
+
+        then:
+        events == parser.parse(lexer.cursor(input)).rawLinks().collectMany { link ->
+            [["link", link.rawURI()]] + link.rawParameters().collect { ["param", it.name(), it.value()] } + [["end"]]
+        }
+
+        where:
+        input << [
+                "<https://example.org>",
+                '<https://example.org/a>; rel=self, <https://example.org/b>; rel=next',
+                '<https://example.org>; title=""; x-flag',
+                '<a>; title="say \\"hi\\""; rel=x',
+                '<a>;, <b>',
+        ]
+    }
+
+    def "events of the well-formed part are pushed before a malformed link is reported"() {
+        given:
+        def events = []
+
+        when:
+        directParser.parse('<a>; rel=self, <b> rel=next', recorder(events))
+
+        then:
+        thrown(StructureException)
+        events == [["link", "a"], ["param", "rel", "self"], ["end"], ["link", "b"]]
+    }
+
+    def "event sequences are views that are valid during the callback only"() {
+        given:
+        def names = []
+        def handler = [
+                startLink: { uri -> },
+                param    : { name, value -> names << name },
+                endLink  : { -> }
+        ] as WebLinkHandler
+
+        when:
+        directParser.parse('<a>; rel=self; type=text', handler)
+
+        then:
+        names*.toString() == ["type", "type"]
+        "type".contentEquals(names[0])
+    }
+
+    def "recovering parser skips '#input' like the recovering lexer and parser"() {
+        given:
+        def recoveringParser = SimpleWebLinkParser.createRecovering()
+        def observed = []
+
+        expect:
+        DirectWebLinkParser.createRecovering().parse(input, { type, position -> observed << [type, position] }) ==
+                recoveringParser.parse(lexer.cursor(input))
+        observed == lexer.lex(input).collect { [it.type(), it.position()] }
+
+        where:
+        input << [
+                "",
+                "<a>,",
+                "<a>, , <b>",
+                "<a> x, <b>",
+                '"quoted" <a>; rel=x, <b>',
+                '<a>; rel=self, https://broken; rel="x, y", <b>; rel=; x=<c>, <d> > = ;',
+                '<a>; rel=self, <b> <c>',
+        ]
+    }
+
+    def "recovering parser does not end a skipped link"() {
+        given:
+        def events = []
+
+        when:
+        DirectWebLinkParser.createRecovering().parse('<a>; rel=, <b>', recorder(events))
+
+        then:
+        events == [["link", "a"], ["link", "b"], ["end"]]
+    }
+
+    def "compact form of '#input' has the same links as the parsed header"() {
+        expect:
+        directParser.parseCompact(input).toRawLinkHeader() == parser.parse(lexer.cursor(input))
+
+        where:
+        input << [
+                "<https://example.org>",
+                "<>",
+                '<https://example.org>; title=""; x-flag',
+                '<https://example.org/a>; rel=self, <https://example.org/b>; rel=next',
+                '<a>; title="say \\"hi\\""; rel=x',
+                '<a>;, <b>',
+        ]
+    }
+
+    def "compact form references the spans of the header"() {
+        given:
+        def input = '<a>; rel="x\\"y"; flag, <bc>'
+
+        when:
+        def compact = directParser.parseCompact(input)
+
+        then:
+        compact.source() == input
+        compact.linkCount() == 2
+        compact.uriStart(0) == 1
+        compact.uriEnd(0) == 2
+        compact.uri(1) == "bc"
+        compact.parameterCount(0) == 2
+        compact.parameterCount(1) == 0
+        compact.parameterName(0, 0) == "rel"
+        compact.hasValue(0, 0)
+        compact.parameterValue(0, 0) == 'x"y'
+        compact.parameterName(0, 1) == "flag"
+        !compact.hasValue(0, 1)
+        compact.parameterValue(0, 1) == null
+    }
+
+    def "compact form of a recovered header drops the parameters of skipped links"() {
+        given:
+        def input = '<a>; rel=self; x=, <b>; rel=next'
+
+        when:
+        def compact = DirectWebLinkParser.createRecovering().parseCompact(input)
+
+        then:
+        compact.toRawLinkHeader() == SimpleWebLinkParser.createRecovering().parse(lexer.cursor(input))
+        compact.linkCount() == 1
+        compact.uri(0) == "b"
+        compact.parameterName(0, 0) == "rel"
+        compact.skipped().size() == 1
+    }
+
+    def "compact headers parsed with the same scratch buffers are the same as parsed without"() {
+        given:
+        def scratch = DirectWebLinkParser.Scratch.create()
+        def recovering = DirectWebLinkParser.createRecovering()
+        def inputs = [
+                '<a>; rel="x\\"y"; flag, <bc>; type=text',
+                (1..40).collect { "<https://example.org/$it>; rel=item; title=\"$it\"" }.join(", "),
+                '<d>',
+                '<a>; rel=self; x=, <b>; rel=next',
+                '',
+        ]
+
+        expect:
+        inputs.every {
+            recovering.parseCompact(it, scratch).toRawLinkHeader() ==
+                    recovering.parseCompact(it).toRawLinkHeader()
+        }
+    }
+
+    def "scratch buffers are reused by the next parse call"() {
+        given:
+        def scratch = DirectWebLinkParser.Scratch.create()
+
+        when:
+        def first = directParser.parseCompact('<a>; rel=self; title="A"', scratch)
+        def uriSpans = first.@uriSpans
+        def parameterSpans = first.@parameterSpans
+        def tokenValues = first.@tokenValues
+        def second = directParser.parseCompact('<b>; rel=next', scratch)
+
+        then:
+        second.@uriSpans.is(uriSpans)
+        second.@parameterSpans.is(parameterSpans)
+        second.@tokenValues.is(tokenValues)
+        second.uri(0) == "b"
+        second.parameterCount(0) == 1
+        second.hasTokenValue(0, 0)
+        !directParser.parseCompact('<a>; rel=self').@uriSpans.is(uriSpans)
+    }
+
+    private static WebLinkHandler recorder(List events) {
+        return [
+                startLink: { uri -> events << ["link", uri.toString()] },
+                param    : { name, value -> events << ["param", name.toString(), value?.toString()] },
+                endLink  : { -> events << ["end"] }
+        ] as WebLinkHandler
+    }
+}
@@ -0,0 +1,51 @@
+package life.qbic.linksmith.internal.parsing
+
+import spock.lang.Specification
+
+/**
+ * Specification for {@link RelationTypeList}.
+ *
+ * The relation types must be the same as splitting the trimmed value at whitespace.
+ */
+class RelationTypeListSpec extends Specification {
+
+    def "'#value' contains the relation types #expected"() {
+        given:
+        def found = []
+
+        when:
+        def stopped = RelationTypeList.forEach(value) { text, start, end ->
+            found << text.substring(start, end)
+            return false
+        }
+
+        then:
+        !stopped
+        found == expected
+        found == (value.trim() ? value.trim().split("\\s+") as List : [])
+
+        where:
+        value                    | expected
+        "next"                   | ["next"]
+        "next prev"              | ["next", "prev"]
+        "  next \t\n prev  "     | ["next", "prev"]
+        "https://x.org/rel item" | ["https://x.org/rel", "item"]
+        ""                       | []
+        "   "                    | []
+    }
+
+    def "stops at the first relation type the consumer accepts"() {
+        given:
+        def found = []
+
+        when:
+        def stopped = RelationTypeList.forEach("a b c") { text, start, end ->
+            found << text.substring(start, end)
+            return text.substring(start, end) == "b"
+        }
+
+        then:
+        stopped
+        found == ["a", "b"]
+    }
+}
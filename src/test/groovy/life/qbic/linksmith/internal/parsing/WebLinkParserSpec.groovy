@@ -1,5 +1,7 @@
 package life.qbic.linksmith.internal.parsing
 
+import life.qbic.linksmith.spi.OrderedTokenList
+import life.qbic.linksmith.spi.WebLinkLexer
 import life.qbic.linksmith.spi.WebLinkParser
 import life.qbic.linksmith.internal.lexing.SimpleWebLinkLexer
 import life.qbic.linksmith.internal.parsing.SimpleWebLinkParser
@@ -629,4 +631,143 @@ class WebLinkParserSpec extends Specification {
         thrown(WebLinkParser.StructureException.class)
     }
 
+    /**
+     * Parsing from a lazy cursor must yield the same raw link header as parsing the token list.
+     */
+    def "Parsing from a token cursor yields the same result as parsing the token list"() {
+        given:
+        var serialisation = '<https://example.org/a>; rel="self"; type=application/json; flag, <https://example.org/b>'
+
+        and:
+        var weblinkParser = SimpleWebLinkParser.create()
+
+        and:
+        var lexer = SimpleWebLinkLexer.create()
+
+        when:
+        var fromCursor = weblinkParser.parse(lexer.cursor(serialisation))
+        var fromList = weblinkParser.parse(lexer.lex(serialisation))
+
+        then:
+        fromCursor == fromList
+        fromCursor.rawLinks().size() == 2
+        fromCursor.rawLinks()[0].rawParameters() == [
+                RawParam.withValue("rel", "self"),
+                RawParam.withTokenValue("type", "application/json"),
+                RawParam.emptyParameter("flag")
+        ]
+    }
+
+    /**
+     * The serialisation of a value as token or quoted-string is part of the raw parameter.
+     */
+    def "Raw parameters with a token and a quoted value are not equal"() {
+        given:
+        var lexer = SimpleWebLinkLexer.create()
+
+        when:
+        var token = SimpleWebLinkParser.create().parse(lexer.lex('<a>; title=a(b')).rawLinks()[0].rawParameters()[0]
+        var quoted = SimpleWebLinkParser.create().parse(lexer.lex('<a>; title="a(b"')).rawLinks()[0].rawParameters()[0]
+
+        then:
+        token == new RawParam("title", "a(b", true)
+        quoted == new RawParam("title", "a(b", false)
+        token != quoted
+    }
+
+    /**
+     * The default cursor parsing of the SPI drains the cursor and delegates to the list parsing.
+     */
+    def "Parsers without streaming support parse cursors via the token list"() {
+        given:
+        var delegate = SimpleWebLinkParser.create()
+        WebLinkParser listOnlyParser = { tokens -> delegate.parse(tokens) } as WebLinkParser
+
+        and:
+        var lexer = SimpleWebLinkLexer.create()
+
+        expect:
+        !listOnlyParser.supportsStreaming()
+        listOnlyParser.parse(lexer.cursor('<https://example.org>; rel=self')) ==
+                delegate.parse(lexer.lex('<https://example.org>; rel=self'))
+    }
+
+    def "lexer token lists are marked as ordered"() {
+        expect:
+        SimpleWebLinkLexer.create().lex("<https://example.org>; rel=self") instanceof OrderedTokenList
+    }
+
+    def "unordered token lists are sorted before parsing"() {
+        given:
+        var lexer = SimpleWebLinkLexer.create()
+        var parser = SimpleWebLinkParser.create()
+        var input = '<https://example.org/a>; rel=self, <https://example.org/b>'
+
+        and: "a plain list with the same tokens in reverse order"
+        var shuffled = new ArrayList(lexer.lex(input)).reverse()
+
+        expect:
+        parser.parse(shuffled) == parser.parse(lexer.lex(input))
+    }
+
+    def "ordered plain token lists are parsed without an ordered marker"() {
+        given:
+        var lexer = SimpleWebLinkLexer.create()
+        var parser = SimpleWebLinkParser.create()
+        var input = '<>; title=""'
+
+        expect: "tokens with equal positions keep their order"
+        parser.parse(new ArrayList(lexer.lex(input))) == parser.parse(lexer.lex(input))
+    }
+
+    def "recovering parser skips malformed link-values and keeps the well-formed ones"() {
+        given:
+        var lexer = SimpleWebLinkLexer.create()
+        var parser = SimpleWebLinkParser.createRecovering()
+        var input = '<https://example.org/a>; rel=self, https://broken; rel=x, <https://example.org/b>; rel=; x=y, <https://example.org/c>'
+
+        when:
+        var result = parser.parse(lexer.cursor(input))
+
+        then:
+        result.rawLinks()*.rawURI() == ["https://example.org/a", "https://example.org/c"]
+        result.skipped() == [
+                new SkippedLinkValue(35, 56, "Expected LT but found IDENT('https://broken') at position 35"),
+                new SkippedLinkValue(58, 92, "Expected any of [IDENT, QUOTED] but found SEMICOLON(';') at position 87")
+        ]
+    }
+
+    def "recovering parser records #caseName instead of throwing"() {
+        given:
+        var parser = SimpleWebLinkParser.createRecovering()
+
+        when:
+        var result = parser.parse(SimpleWebLinkLexer.create().cursor(input))
+
+        then:
+        result.rawLinks()*.rawURI() == links
+        result.skipped()*.reason() == reasons
+
+        where:
+        caseName               | input        | links | reasons
+        "an empty header"      | "  "         | []    | [SimpleWebLinkParser.NO_LINK_MESSAGE]
+        "a trailing comma"     | "<a>,"       | ["a"] | [SimpleWebLinkParser.TRAILING_COMMA_MESSAGE]
+        "an empty link-value"  | "<a>, , <b>" | ["a", "b"] | ["Expected LT but found COMMA(',') at position 5"]
+        "garbage after a link" | "<a> x, <b>" | ["b"] | ["Expected SEMICOLON but found IDENT('x') at position 4"]
+    }
+
+    def "recovering parser still throws lexical errors"() {
+        when:
+        SimpleWebLinkParser.createRecovering().parse(SimpleWebLinkLexer.create().cursor('<a>; x y, <b'))
+
+        then:
+        thrown(WebLinkLexer.LexingException)
+    }
+
+    def "default parser is not recovering"() {
+        expect:
+        !SimpleWebLinkParser.create().isRecovering()
+        SimpleWebLinkParser.createRecovering().isRecovering()
+        SimpleWebLinkParser.create().parse(SimpleWebLinkLexer.create().lex('<a>')).skipped().isEmpty()
+    }
 }
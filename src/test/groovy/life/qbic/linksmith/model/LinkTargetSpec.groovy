@@ -0,0 +1,139 @@
+package life.qbic.linksmith.model
+
+import spock.lang.Specification
+
+/**
+ * Specification for {@link LinkTarget}.
+ *
+ * The check must accept and reject the same references as {@link URI}, so that valid links are not
+ * dropped and the lazy creation of the URI does not fail after validation.
+ */
+class LinkTargetSpec extends Specification {
+
+    def "accepts '#reference' like URI does"() {
+        when:
+        def target = LinkTarget.parse(reference)
+
+        then:
+        target.reference() == reference
+        target.uri() == URI.create(reference)
+
+        where:
+        reference << [
+                "https://example.org",
+                "https://example.org/a/b?q=1&r=%20#frag",
+                "https://user:pw@example.org:8080/path;x=y",
+                "http://[2001:db8::1]:80/",
+                "file:///tmp/x",
+                "mailto:someone@example.org",
+                "urn:isbn:0451450523",
+                "",
+                "relative/path",
+                "./a:b",
+                "//example.org/a",
+                "?query",
+                "#fragment",
+                "https://example.org/schön",
+                "https://example.org/a?b=c/d?e",
+                "https://api.example.com/items?page[number]=2",
+                "https://example.org/#sec[1]",
+                "urn:x:[a]",
+                "http://?q",
+                "///a",
+                "http://[::ffff:192.0.2.1]/",
+        ]
+    }
+
+    def "rejects '#reference' like URI does"() {
+        when:
+        URI.create(reference)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        LinkTarget.parse(reference)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        reference << [
+                "https://exa mple.org",
+                "https://example.org/a b",
+                "https://example.org/%zz",
+                "https://example.org/%2",
+                "https://example.org/a#b#c",
+                "https://example.org/{x}",
+                "https://example.org/a|b",
+                "https://example.org/\"",
+                "1http://example.org",
+                ":no-scheme",
+                "a b:c",
+                "https:",
+                "https://",
+                "http://[::1",
+                "http://[]",
+                "http://[.]",
+                "http://[v1.x]/",
+                "https://example.org/a[b]",
+                "https://example.org/\u0001",
+        ]
+    }
+
+    def "accepts exactly the references URI accepts"() {
+        given: "references built from the characters that matter to both checks"
+        def alphabet = "aZ09:/?#[]@!\$&'()*+,;=-._~%2Fé \u0001\"<>{}|\\^`"
+        def prefixes = ["", "http://", "a:", "//", "http://[", "mailto:", "file:///", "?"]
+        def random = new Random(8288)
+        def references = (1..20_000).collect {
+            def builder = new StringBuilder(prefixes[random.nextInt(prefixes.size())])
+            random.nextInt(16).times { builder.append(alphabet.charAt(random.nextInt(alphabet.length()))) }
+            builder.toString()
+        }
+
+        expect:
+        references.every { reference ->
+            def expected = accepts { URI.create(reference) }
+            def actual = accepts { LinkTarget.parse(reference).uri() }
+            expected == actual
+        }
+    }
+
+    private static boolean accepts(Closure<?> creation) {
+        try {
+            creation()
+            return true
+        } catch (IllegalArgumentException ignored) {
+            return false
+        }
+    }
+
+    def "creates the URI once, on the first request"() {
+        given:
+        def target = LinkTarget.parse("https://example.org/a")
+
+        when:
+        def first = target.uri()
+
+        then:
+        first.is(target.uri())
+    }
+
+    def "targets with the same reference are equal"() {
+        expect:
+        LinkTarget.parse("https://example.org") == LinkTarget.of(URI.create("https://example.org"))
+        LinkTarget.parse("https://example.org").hashCode() == LinkTarget.of(URI.create("https://example.org")).hashCode()
+        LinkTarget.parse("https://example.org/a") != LinkTarget.parse("https://example.org/b")
+    }
+
+    def "web links created from a URI and from a parsed target are equal"() {
+        given:
+        def params = [new WebLinkParameter("rel", "self")]
+
+        expect:
+        new WebLink(URI.create("https://example.org"), params) ==
+                new WebLink(LinkTarget.parse("https://example.org"), params)
+        new WebLink(LinkTarget.parse("https://example.org"), params).target() == URI.create("https://example.org")
+    }
+}
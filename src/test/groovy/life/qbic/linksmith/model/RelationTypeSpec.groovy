@@ -0,0 +1,41 @@
+package life.qbic.linksmith.model
+
+import spock.lang.Specification
+
+/**
+ * Specification for {@link RelationType}.
+ */
+class RelationTypeSpec extends Specification {
+
+    def "every registered relation type is found by its value, ignoring case"() {
+        expect:
+        RelationType.values().every { type ->
+            RelationType.lookup(type.value()).get() == type &&
+                    RelationType.lookup(type.value().toUpperCase()).get() == type
+        }
+    }
+
+    def "'#relationType' is no registered relation type"() {
+        expect:
+        RelationType.lookup(relationType).isEmpty()
+
+        where:
+        relationType << ["", "x-custom", "https://example.org/rel", "describedb", "describedbyy", "sélf", "self "]
+    }
+
+    def "relation types are looked up in a span of a text"() {
+        given:
+        def text = 'rel="self Cite-As https://example.org/rel"'
+
+        expect:
+        RelationType.lookup(text, 5, 9) == RelationType.SELF
+        RelationType.lookup(text, 10, 17) == RelationType.CITE_AS
+        RelationType.lookup(text, 18, 41) == null
+    }
+
+    def "values with dots and digits map to constants"() {
+        expect:
+        RelationType.lookup("openid2.local_id").get() == RelationType.OPENID2_LOCAL_ID
+        RelationType.lookup("p3pv1").get() == RelationType.P3PV1
+    }
+}
@@ -250,6 +250,27 @@ class WebLinkSpec extends Specification {
         link.titleEncodings().get() == "UTF-8''first"
     }
 
+    def "registered and extension relation types are separated"() {
+        given:
+        def link = weblink("https://example.org", [rel("self  DescribedBy https://example.org/rel"), rel("license x-custom")])
+
+        expect:
+        link.registeredRel() == EnumSet.of(RelationType.SELF, RelationType.DESCRIBEDBY, RelationType.LICENSE)
+        link.extensionRel() == ["https://example.org/rel", "x-custom"]
+        link.hasRel(RelationType.LICENSE)
+        !link.hasRel(RelationType.NEXT)
+    }
+
+    def "a link without rel parameter has no relation types"() {
+        given:
+        def link = weblink("https://example.org", [type("text/html")])
+
+        expect:
+        link.registeredRel().isEmpty()
+        link.extensionRel().isEmpty()
+        !link.hasRel(RelationType.SELF)
+    }
+
     // ------------------------------------------------------------------------
     // Helpers
     // ------------------------------------------------------------------------